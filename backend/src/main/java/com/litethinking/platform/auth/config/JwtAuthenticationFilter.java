@@ -1,7 +1,9 @@
 package com.litethinking.platform.auth.config;
 
 import com.litethinking.platform.auth.service.JwtService;
-import com.litethinking.platform.auth.service.UserAccountService;
+import com.litethinking.platform.auth.service.PrincipalCache;
+import com.litethinking.platform.auth.service.VerifiedToken;
+import com.litethinking.platform.common.exception.InvalidTokenException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,11 +24,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     public JwtAuthenticationFilter(JwtService jwtService,
-                                   UserDetailsService userDetailsService) {
+                                   UserDetailsService userDetailsService,
+                                   PrincipalCache principalCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -40,15 +45,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-        if (!jwtService.isValid(token)) {
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(authHeader.substring(7));
+        } catch (InvalidTokenException ex) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String username = jwtService.getSubject(token);
+        String username = verified.subject();
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = loadUser(username);
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -57,4 +64,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails loadUser(String username) {
+        UserDetails cached = principalCache.getUserFromCache(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        principalCache.putUserInCache(userDetails);
+        return userDetails;
+    }
 }
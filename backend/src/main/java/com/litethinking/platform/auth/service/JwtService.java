@@ -1,16 +1,24 @@
 package com.litethinking.platform.auth.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.litethinking.platform.auth.domain.UserAccount;
+import com.litethinking.platform.common.exception.InvalidTokenException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
@@ -19,19 +27,34 @@ import java.util.Map;
 @Service
 public class JwtService {
 
+    static final long DEFAULT_VERIFIED_CACHE_SIZE = 10_000;
+
     private final SecretKey secretKey;
     private final JwtParser jwtParser;
     private final long expirationMinutes;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(String secret, long expirationMinutes) {
+        this(secret, expirationMinutes, DEFAULT_VERIFIED_CACHE_SIZE);
+    }
 
+    @Autowired
     public JwtService(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration-minutes}") long expirationMinutes
+            @Value("${jwt.expiration-minutes}") long expirationMinutes,
+            @Value("${jwt.verified-cache-size:" + DEFAULT_VERIFIED_CACHE_SIZE + "}") long verifiedCacheSize
     ) {
         this.secretKey = Keys.hmacShaKeyFor(resolveSecret(secret));
         this.jwtParser = Jwts.parserBuilder()
                 .setSigningKey(this.secretKey)
                 .build();
         this.expirationMinutes = expirationMinutes;
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(untilTokenExpires())
+                .build()
+                : null;
     }
 
     public String generateToken(UserAccount user) {
@@ -62,9 +85,61 @@ public class JwtService {
         }
     }
 
+    /**
+     * Verifies the signature and expiry once and returns the claims the filter needs.
+     * Recently verified tokens are served from a bounded cache until they expire; failures are never cached.
+     */
+    public VerifiedToken verify(String token) {
+        if (verifiedTokens != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(token);
+            if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+        }
+        VerifiedToken verified = parse(token);
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
+    }
+
     public long getExpirationMinutes() {
         return expirationMinutes;
     }
+
+    private VerifiedToken parse(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                throw new InvalidTokenException("Token invalido", null);
+            }
+            return new VerifiedToken(claims.getSubject(), claims.get("role", String.class), claims.getExpiration().toInstant());
+        } catch (ExpiredJwtException ex) {
+            throw new InvalidTokenException("Token expirado", ex);
+        } catch (JwtException | IllegalArgumentException ex) {
+            throw new InvalidTokenException("Token invalido", ex);
+        }
+    }
+
+    private static Expiry<String, VerifiedToken> untilTokenExpires() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
     private byte[] resolveSecret(String secret) {
         if (secret != null && secret.length() >= 32 && !secret.contains(" ")) {
             return secret.getBytes(java.nio.charset.StandardCharsets.UTF_8);
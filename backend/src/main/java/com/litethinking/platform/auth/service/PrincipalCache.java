@@ -0,0 +1,43 @@
+package com.litethinking.platform.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, time-limited cache of the principals resolved by {@link CustomUserDetailsService},
+ * so authenticated requests do not hit the usuarios table every time.
+ */
+@Component
+public class PrincipalCache implements UserCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(@Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+}
@@ -9,6 +9,8 @@ import com.litethinking.platform.common.exception.ResourceNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.UUID;
 
@@ -17,10 +19,14 @@ public class UserAccountService {
 
     private final UserAccountRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
-    public UserAccountService(UserAccountRepository repository, PasswordEncoder passwordEncoder) {
+    public UserAccountService(UserAccountRepository repository,
+                              PasswordEncoder passwordEncoder,
+                              PrincipalCache principalCache) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
     }
 
     @Transactional
@@ -44,6 +50,7 @@ public class UserAccountService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
         user.setRole(role);
         repository.save(user);
+        invalidarPrincipal(user.getEmail());
     }
 
     @Transactional(readOnly = true)
@@ -51,4 +58,18 @@ public class UserAccountService {
         return repository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
     }
+
+    // Evict after commit so a concurrent request cannot re-cache the old state before it is visible.
+    private void invalidarPrincipal(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            principalCache.removeUserFromCache(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principalCache.removeUserFromCache(email);
+            }
+        });
+    }
 }
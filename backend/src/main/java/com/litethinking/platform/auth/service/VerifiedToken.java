@@ -0,0 +1,6 @@
+package com.litethinking.platform.auth.service;
+
+import java.time.Instant;
+
+public record VerifiedToken(String subject, String role, Instant expiresAt) {
+}
@@ -5,6 +5,8 @@ import com.litethinking.platform.catalog.dto.EmpresaResponse;
 import com.litethinking.platform.catalog.dto.EmpresaUpdateRequest;
 import com.litethinking.platform.catalog.service.EmpresaService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,7 +18,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -24,19 +28,31 @@ import java.util.List;
 public class EmpresaController {
 
     private final EmpresaService empresaService;
+    private final CacheControl cacheControl;
 
-    public EmpresaController(EmpresaService empresaService) {
+    public EmpresaController(EmpresaService empresaService,
+                             @Value("${catalog.http-cache.public-max-age:0s}") Duration publicMaxAge) {
         this.empresaService = empresaService;
+        // The empresa reads are public, so shared caches may store them too.
+        this.cacheControl = publicMaxAge.isZero()
+                ? CacheControl.noCache().cachePublic()
+                : CacheControl.maxAge(publicMaxAge).cachePublic();
     }
 
     @GetMapping
-    public ResponseEntity<List<EmpresaResponse>> listar() {
-        return ResponseEntity.ok(empresaService.listar());
+    public ResponseEntity<List<EmpresaResponse>> listar(WebRequest webRequest) {
+        if (empresaService.versionListado().noModificado(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(empresaService.listar());
     }
 
     @GetMapping("/{nit}")
-    public ResponseEntity<EmpresaResponse> obtener(@PathVariable String nit) {
-        return ResponseEntity.ok(empresaService.obtener(nit));
+    public ResponseEntity<EmpresaResponse> obtener(@PathVariable String nit, WebRequest webRequest) {
+        if (empresaService.version(nit).noModificado(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(empresaService.obtener(nit));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
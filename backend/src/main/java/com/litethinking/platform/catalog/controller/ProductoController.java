@@ -1,10 +1,21 @@
 package com.litethinking.platform.catalog.controller;
 
+import com.litethinking.platform.catalog.dto.ProductoBusquedaResponse;
+import com.litethinking.platform.catalog.dto.ProductoImportResponse;
 import com.litethinking.platform.catalog.dto.ProductoRequest;
 import com.litethinking.platform.catalog.dto.ProductoResponse;
+import com.litethinking.platform.catalog.dto.ProductoSummary;
+import com.litethinking.platform.catalog.search.ProductoAutocompleteIndex;
+import com.litethinking.platform.catalog.search.ProductoSearchIndex;
+import com.litethinking.platform.catalog.service.ProductoExportService;
+import com.litethinking.platform.catalog.service.ProductoImportService;
 import com.litethinking.platform.catalog.service.ProductoService;
+import com.litethinking.platform.common.api.CursorPage;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,7 +27,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,20 +39,80 @@ import java.util.UUID;
 @RequestMapping("/api/productos")
 public class ProductoController {
 
+    private static final int MAX_RESULTADOS_BUSQUEDA = 100;
+    private static final int MAX_RESULTADOS_AUTOCOMPLETAR = 50;
+    // Authenticated responses: only the browser may keep them, and it must revalidate with the ETag.
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
     private final ProductoService productoService;
+    private final ProductoExportService productoExportService;
+    private final ProductoImportService productoImportService;
+    private final ProductoSearchIndex productoSearchIndex;
+    private final ProductoAutocompleteIndex productoAutocompleteIndex;
 
-    public ProductoController(ProductoService productoService) {
+    public ProductoController(ProductoService productoService,
+                              ProductoExportService productoExportService,
+                              ProductoImportService productoImportService,
+                              ProductoSearchIndex productoSearchIndex,
+                              ProductoAutocompleteIndex productoAutocompleteIndex) {
         this.productoService = productoService;
+        this.productoExportService = productoExportService;
+        this.productoImportService = productoImportService;
+        this.productoSearchIndex = productoSearchIndex;
+        this.productoAutocompleteIndex = productoAutocompleteIndex;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductoResponse>> listarPorEmpresa(@RequestParam("empresaNit") String empresaNit) {
-        return ResponseEntity.ok(productoService.listarPorEmpresa(empresaNit));
+    public ResponseEntity<List<ProductoResponse>> listarPorEmpresa(@RequestParam("empresaNit") String empresaNit,
+                                                                   WebRequest webRequest) {
+        if (productoService.versionListado(empresaNit).noModificado(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDAR).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDAR).body(productoService.listarPorEmpresa(empresaNit));
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<CursorPage<ProductoResponse>> listarPaginaPorEmpresa(
+            @RequestParam("empresaNit") String empresaNit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(productoService.listarPaginaPorEmpresa(empresaNit, cursor, size));
+    }
+
+    @GetMapping("/buscar")
+    public ResponseEntity<ProductoBusquedaResponse> buscar(
+            @RequestParam("empresaNit") String empresaNit,
+            @RequestParam("q") String consulta,
+            @RequestParam(value = "limite", defaultValue = "20") int limite) {
+        int tope = Math.max(1, Math.min(limite, MAX_RESULTADOS_BUSQUEDA));
+        return ResponseEntity.ok(new ProductoBusquedaResponse(consulta,
+                productoSearchIndex.buscar(empresaNit, consulta, tope)));
+    }
+
+    @GetMapping("/autocompletar")
+    public ResponseEntity<List<ProductoSummary>> autocompletar(
+            @RequestParam("empresaNit") String empresaNit,
+            @RequestParam("q") String prefijo,
+            @RequestParam(value = "limite", defaultValue = "10") int limite) {
+        int tope = Math.max(1, Math.min(limite, MAX_RESULTADOS_AUTOCOMPLETAR));
+        return ResponseEntity.ok(productoAutocompleteIndex.autocompletar(empresaNit, prefijo, tope));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam("empresaNit") String empresaNit) {
+        StreamingResponseBody body = output -> productoExportService.exportarPorEmpresa(empresaNit, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=productos-" + empresaNit + ".ndjson")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductoResponse> obtener(@PathVariable UUID id) {
-        return ResponseEntity.ok(productoService.obtener(id));
+    public ResponseEntity<ProductoResponse> obtener(@PathVariable UUID id, WebRequest webRequest) {
+        if (productoService.version(id).noModificado(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDAR).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDAR).body(productoService.obtener(id));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -46,6 +121,18 @@ public class ProductoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(productoService.crear(request));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductoImportResponse> importarCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(productoImportService.importarCsv(body));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ProductoImportResponse> importarNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(productoImportService.importarNdjson(body));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<ProductoResponse> actualizar(@PathVariable UUID id,
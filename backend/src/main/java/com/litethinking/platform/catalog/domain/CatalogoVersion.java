@@ -0,0 +1,51 @@
+package com.litethinking.platform.catalog.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Monotonic per-empresa counter bumped on every catalog change; derived artifacts such as the
+ * inventory PDF are cached against it. The revision is a random id replaced together with the counter,
+ * unique across databases, for artifacts kept outside this one.
+ */
+@Entity
+@Table(name = "catalogo_versiones")
+public class CatalogoVersion {
+
+    @Id
+    @Column(name = "empresa_nit", length = 20)
+    private String empresaNit;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private Instant actualizadoEn;
+
+    @Column(nullable = false)
+    private UUID revision;
+
+    protected CatalogoVersion() {
+    }
+
+    public String getEmpresaNit() {
+        return empresaNit;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getActualizadoEn() {
+        return actualizadoEn;
+    }
+
+    public UUID getRevision() {
+        return revision;
+    }
+}
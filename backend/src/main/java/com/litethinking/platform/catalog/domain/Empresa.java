@@ -1,17 +1,25 @@
 package com.litethinking.platform.catalog.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "empresas")
 public class Empresa {
 
@@ -28,6 +36,12 @@ public class Empresa {
     @Column(nullable = false)
     private String telefono;
 
+    @Version
+    private Long version;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private Instant actualizadoEn;
+
     @OneToMany(mappedBy = "empresa", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<Producto> productos = new LinkedHashSet<>();
 
@@ -42,6 +56,11 @@ public class Empresa {
         this.telefono = telefono;
     }
 
+    @PrePersist
+    void onCreate() {
+        actualizadoEn = Instant.now();
+    }
+
     public String getNit() {
         return nit;
     }
@@ -62,9 +81,18 @@ public class Empresa {
         return productos;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getActualizadoEn() {
+        return actualizadoEn;
+    }
+
     public void update(String nombre, String direccion, String telefono) {
         this.nombre = nombre;
         this.direccion = direccion;
         this.telefono = telefono;
+        this.actualizadoEn = Instant.now();
     }
 }
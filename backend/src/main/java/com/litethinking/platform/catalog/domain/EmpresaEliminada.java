@@ -0,0 +1,7 @@
+package com.litethinking.platform.catalog.domain;
+
+/**
+ * Published when an empresa is deleted together with its products.
+ */
+public record EmpresaEliminada(String nit) {
+}
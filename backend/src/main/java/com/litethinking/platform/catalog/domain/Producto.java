@@ -12,16 +12,23 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos",
+        uniqueConstraints = @UniqueConstraint(name = "uk_productos_empresa_codigo", columnNames = {"empresa_nit", "codigo"}))
 public class Producto {
 
     @Id
@@ -38,14 +45,22 @@ public class Producto {
     @Column(columnDefinition = "TEXT")
     private String caracteristicas;
 
+    @Version
+    private Long version;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private Instant actualizadoEn;
+
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "empresa_nit")
     private Empresa empresa;
 
     @OneToMany(mappedBy = "producto", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<ProductoPrecio> precios = new LinkedHashSet<>();
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "producto_categoria",
             joinColumns = @JoinColumn(name = "producto_id"),
@@ -64,6 +79,11 @@ public class Producto {
         this.empresa = empresa;
     }
 
+    @PrePersist
+    void onCreate() {
+        actualizadoEn = Instant.now();
+    }
+
     public UUID getId() {
         return id;
     }
@@ -92,9 +112,19 @@ public class Producto {
         return categorias;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getActualizadoEn() {
+        return actualizadoEn;
+    }
+
     public void update(String nombre, String caracteristicas) {
         this.nombre = nombre;
         this.caracteristicas = caracteristicas;
+        // Always dirties the row, so a change to precios or categorias alone still bumps the version.
+        this.actualizadoEn = Instant.now();
     }
 
     public void replacePrecios(Set<ProductoPrecio> nuevos) {
@@ -0,0 +1,22 @@
+package com.litethinking.platform.catalog.domain;
+
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+
+/**
+ * Published when a product is saved or deleted; in-memory views of the catalog apply it after commit.
+ */
+public record ProductoCambio(Tipo tipo, ProductoTexto producto) {
+
+    public enum Tipo {
+        GUARDADO,
+        ELIMINADO
+    }
+
+    public static ProductoCambio guardado(Producto producto) {
+        return new ProductoCambio(Tipo.GUARDADO, ProductoTexto.from(producto));
+    }
+
+    public static ProductoCambio eliminado(Producto producto) {
+        return new ProductoCambio(Tipo.ELIMINADO, ProductoTexto.from(producto));
+    }
+}
@@ -1,14 +1,18 @@
 package com.litethinking.platform.catalog.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
@@ -16,7 +20,9 @@ import java.util.Currency;
 import java.util.UUID;
 
 @Entity
-@Table(name = "producto_precios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "producto_precios", indexes = @Index(name = "idx_producto_precios_producto", columnList = "producto_id"))
 public class ProductoPrecio {
 
     @Id
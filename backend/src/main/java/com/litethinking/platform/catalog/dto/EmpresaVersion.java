@@ -0,0 +1,26 @@
+package com.litethinking.platform.catalog.dto;
+
+import java.time.Instant;
+
+/**
+ * Version of an empresa row joined with the version of its catalog; the catalog part is null until
+ * the first catalog change is recorded.
+ */
+public record EmpresaVersion(
+        String nit,
+        long version,
+        Instant actualizadoEn,
+        Long catalogoVersion,
+        Instant catalogoActualizadoEn
+) {
+    public long versionCatalogo() {
+        return catalogoVersion == null ? 0 : catalogoVersion;
+    }
+
+    public Instant ultimaModificacion() {
+        if (catalogoActualizadoEn == null || catalogoActualizadoEn.isBefore(actualizadoEn)) {
+            return actualizadoEn;
+        }
+        return catalogoActualizadoEn;
+    }
+}
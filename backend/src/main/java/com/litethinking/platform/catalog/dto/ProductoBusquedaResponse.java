@@ -0,0 +1,17 @@
+package com.litethinking.platform.catalog.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProductoBusquedaResponse(
+        String consulta,
+        List<Resultado> resultados
+) {
+    public record Resultado(
+            UUID id,
+            String codigo,
+            String nombre,
+            double puntaje
+    ) {
+    }
+}
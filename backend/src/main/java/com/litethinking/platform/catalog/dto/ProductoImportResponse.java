@@ -0,0 +1,18 @@
+package com.litethinking.platform.catalog.dto;
+
+import java.util.List;
+
+public record ProductoImportResponse(
+        long total,
+        long importados,
+        long fallidos,
+        List<Error> errores,
+        boolean erroresTruncados
+) {
+    public record Error(
+            long fila,
+            String codigo,
+            List<String> mensajes
+    ) {
+    }
+}
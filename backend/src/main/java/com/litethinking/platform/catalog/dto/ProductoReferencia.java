@@ -0,0 +1,10 @@
+package com.litethinking.platform.catalog.dto;
+
+import java.util.UUID;
+
+public record ProductoReferencia(
+        UUID id,
+        String empresaNit,
+        String nombre
+) {
+}
@@ -0,0 +1,26 @@
+package com.litethinking.platform.catalog.dto;
+
+import com.litethinking.platform.catalog.domain.Producto;
+
+import java.util.UUID;
+
+/**
+ * The searchable text of a product, detached from the persistence context.
+ */
+public record ProductoTexto(
+        UUID id,
+        String empresaNit,
+        String codigo,
+        String nombre,
+        String caracteristicas
+) {
+    public static ProductoTexto from(Producto producto) {
+        return new ProductoTexto(
+                producto.getId(),
+                producto.getEmpresa().getNit(),
+                producto.getCodigo(),
+                producto.getNombre(),
+                producto.getCaracteristicas()
+        );
+    }
+}
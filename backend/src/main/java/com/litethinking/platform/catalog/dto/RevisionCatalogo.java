@@ -0,0 +1,10 @@
+package com.litethinking.platform.catalog.dto;
+
+import java.util.UUID;
+
+public record RevisionCatalogo(
+        long version,
+        UUID revision
+) {
+    public static final RevisionCatalogo INICIAL = new RevisionCatalogo(0, null);
+}
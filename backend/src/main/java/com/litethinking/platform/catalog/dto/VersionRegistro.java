@@ -0,0 +1,10 @@
+package com.litethinking.platform.catalog.dto;
+
+import java.time.Instant;
+
+public record VersionRegistro(
+        long version,
+        Instant actualizadoEn
+) {
+    public static final VersionRegistro INICIAL = new VersionRegistro(0, null);
+}
@@ -0,0 +1,177 @@
+package com.litethinking.platform.catalog.importer;
+
+import com.litethinking.platform.catalog.dto.PrecioRequest;
+import com.litethinking.platform.catalog.dto.ProductoRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * RFC 4180 CSV with a header row. Columns: codigo, nombre, caracteristicas, empresaNit, precios, categorias.
+ * {@code precios} is a {@code |}-separated list of {@code MONEDA:valor} and {@code categorias} a
+ * {@code |}-separated list of names, e.g. {@code "USD:1100|COP:4500000"} and {@code "Tecnologia|Hardware"}.
+ */
+class CsvProductoImportReader implements ProductoImportReader {
+
+    private static final List<String> REQUIRED = List.of("codigo", "nombre", "empresanit", "precios");
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columnas = new HashMap<>();
+    private long linea = 1;
+    private ProductoImportRow siguiente;
+
+    CsvProductoImportReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        List<String> header = leerRegistro();
+        if (header == null) {
+            throw new IllegalArgumentException("El archivo CSV esta vacio");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columnas.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> faltantes = REQUIRED.stream().filter(columna -> !columnas.containsKey(columna)).toList();
+        if (!faltantes.isEmpty()) {
+            throw new IllegalArgumentException("Faltan columnas en el CSV: " + String.join(", ", faltantes));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (siguiente == null) {
+            long inicio = linea;
+            List<String> campos = leerRegistro();
+            if (campos == null) {
+                return false;
+            }
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            siguiente = convertir(inicio, campos);
+        }
+        return true;
+    }
+
+    @Override
+    public ProductoImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ProductoImportRow row = siguiente;
+        siguiente = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ProductoImportRow convertir(long fila, List<String> campos) {
+        try {
+            return ProductoImportRow.of(fila, new ProductoRequest(
+                    campo(campos, "codigo"),
+                    campo(campos, "nombre"),
+                    campo(campos, "caracteristicas"),
+                    campo(campos, "empresanit"),
+                    precios(campo(campos, "precios")),
+                    lista(campo(campos, "categorias"))
+            ));
+        } catch (IllegalArgumentException e) {
+            return ProductoImportRow.invalida(fila, e.getMessage());
+        }
+    }
+
+    private String campo(List<String> campos, String columna) {
+        Integer index = columnas.get(columna);
+        if (index == null || index >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(index).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static List<PrecioRequest> precios(String valor) {
+        List<PrecioRequest> precios = new ArrayList<>();
+        for (String item : lista(valor)) {
+            int separador = item.indexOf(':');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Precio invalido: " + item);
+            }
+            try {
+                precios.add(new PrecioRequest(item.substring(0, separador).trim(),
+                        new BigDecimal(item.substring(separador + 1).trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Precio invalido: " + item);
+            }
+        }
+        return precios;
+    }
+
+    private static List<String> lista(String valor) {
+        if (valor == null) {
+            return List.of();
+        }
+        return Arrays.stream(valor.split("\\|"))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
+    // Reads one record, honouring quoted fields that contain separators, escaped quotes or line breaks.
+    private List<String> leerRegistro() {
+        try {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> campos = new ArrayList<>();
+            StringBuilder actual = new StringBuilder();
+            boolean entreComillas = false;
+            while (c != -1) {
+                char ch = (char) c;
+                if (entreComillas) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            actual.append('"');
+                        } else {
+                            entreComillas = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            linea++;
+                        }
+                        actual.append(ch);
+                    }
+                } else if (ch == '"') {
+                    entreComillas = true;
+                } else if (ch == ',') {
+                    campos.add(actual.toString());
+                    actual.setLength(0);
+                } else if (ch == '\n') {
+                    linea++;
+                    break;
+                } else if (ch != '\r') {
+                    actual.append(ch);
+                }
+                c = reader.read();
+            }
+            campos.add(actual.toString());
+            return campos;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.litethinking.platform.catalog.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.litethinking.platform.catalog.dto.ProductoRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+class NdjsonProductoImportReader implements ProductoImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long linea;
+    private ProductoImportRow siguiente;
+
+    NdjsonProductoImportReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.objectReader = objectMapper.readerFor(ProductoRequest.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null) {
+            siguiente = leer();
+        }
+        return siguiente != null;
+    }
+
+    @Override
+    public ProductoImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ProductoImportRow row = siguiente;
+        siguiente = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ProductoImportRow leer() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linea++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    ProductoRequest request = objectReader.readValue(line);
+                    if (request == null) {
+                        return ProductoImportRow.invalida(linea, "La linea no contiene un producto");
+                    }
+                    return ProductoImportRow.of(linea, request);
+                } catch (JsonProcessingException e) {
+                    return ProductoImportRow.invalida(linea, "JSON invalido: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.litethinking.platform.catalog.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.Reader;
+import java.util.Iterator;
+
+/**
+ * Streams import rows from the request body without materializing the file.
+ */
+public interface ProductoImportReader extends Iterator<ProductoImportRow>, Closeable {
+
+    static ProductoImportReader csv(Reader reader) {
+        return new CsvProductoImportReader(reader);
+    }
+
+    static ProductoImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new NdjsonProductoImportReader(reader, objectMapper);
+    }
+}
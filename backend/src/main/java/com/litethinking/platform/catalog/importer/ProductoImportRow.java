@@ -0,0 +1,18 @@
+package com.litethinking.platform.catalog.importer;
+
+import com.litethinking.platform.catalog.dto.ProductoRequest;
+
+/**
+ * One record of an import file; {@code fila} is the line where it starts. Rows that could not be
+ * parsed carry the error instead of a request.
+ */
+public record ProductoImportRow(long fila, ProductoRequest request, String error) {
+
+    public static ProductoImportRow of(long fila, ProductoRequest request) {
+        return new ProductoImportRow(fila, request, null);
+    }
+
+    public static ProductoImportRow invalida(long fila, String error) {
+        return new ProductoImportRow(fila, null, error);
+    }
+}
@@ -0,0 +1,55 @@
+package com.litethinking.platform.catalog.repository;
+
+import com.litethinking.platform.catalog.domain.CatalogoVersion;
+import com.litethinking.platform.catalog.dto.RevisionCatalogo;
+import com.litethinking.platform.catalog.dto.VersionRegistro;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CatalogoVersionRepository extends JpaRepository<CatalogoVersion, String> {
+
+    @Query("select v.version from CatalogoVersion v where v.empresaNit = :empresaNit")
+    Optional<Long> findVersion(@Param("empresaNit") String empresaNit);
+
+    @Query("""
+            select new com.litethinking.platform.catalog.dto.VersionRegistro(v.version, v.actualizadoEn)
+            from CatalogoVersion v
+            where v.empresaNit = :empresaNit
+            """)
+    Optional<VersionRegistro> findRegistro(@Param("empresaNit") String empresaNit);
+
+    @Query("""
+            select new com.litethinking.platform.catalog.dto.RevisionCatalogo(v.version, v.revision)
+            from CatalogoVersion v
+            where v.empresaNit = :empresaNit
+            """)
+    Optional<RevisionCatalogo> findRevision(@Param("empresaNit") String empresaNit);
+
+    @Modifying
+    @Query("""
+            update CatalogoVersion v
+            set v.version = v.version + 1, v.actualizadoEn = :ahora, v.revision = :revision
+            where v.empresaNit = :empresaNit
+            """)
+    int incrementar(@Param("empresaNit") String empresaNit, @Param("ahora") Instant ahora,
+                    @Param("revision") UUID revision);
+
+    // Without a declared query space Hibernate would evict every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "catalogo_versiones"))
+    @Query(value = """
+            insert into catalogo_versiones (empresa_nit, version, actualizado_en)
+            values (:empresaNit, 0, :ahora)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertarSiNoExiste(@Param("empresaNit") String empresaNit, @Param("ahora") Instant ahora);
+}
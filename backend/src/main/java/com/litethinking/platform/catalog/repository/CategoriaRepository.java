@@ -1,11 +1,28 @@
 package com.litethinking.platform.catalog.repository;
 
 import com.litethinking.platform.catalog.domain.Categoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CategoriaRepository extends JpaRepository<Categoria, UUID> {
     Optional<Categoria> findByNombre(String nombre);
+
+    List<Categoria> findByNombreIn(Collection<String> nombres);
+
+    // Idempotent under concurrency: a racing insert of the same nombre hits the unique constraint and is skipped.
+    // The declared query space limits second-level cache invalidation to the categorias region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categorias"))
+    @Query(value = "insert into categorias (id, nombre) values (:id, :nombre) on conflict do nothing", nativeQuery = true)
+    int insertarSiNoExiste(@Param("id") UUID id, @Param("nombre") String nombre);
 }
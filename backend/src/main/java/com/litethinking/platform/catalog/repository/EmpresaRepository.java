@@ -1,7 +1,29 @@
 package com.litethinking.platform.catalog.repository;
 
 import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.dto.EmpresaVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface EmpresaRepository extends JpaRepository<Empresa, String> {
+
+    @Query("""
+            select new com.litethinking.platform.catalog.dto.EmpresaVersion(
+                e.nit, e.version, e.actualizadoEn, v.version, v.actualizadoEn)
+            from Empresa e left join CatalogoVersion v on v.empresaNit = e.nit
+            where e.nit = :nit
+            """)
+    Optional<EmpresaVersion> findVersion(@Param("nit") String nit);
+
+    @Query("""
+            select new com.litethinking.platform.catalog.dto.EmpresaVersion(
+                e.nit, e.version, e.actualizadoEn, v.version, v.actualizadoEn)
+            from Empresa e left join CatalogoVersion v on v.empresaNit = e.nit
+            order by e.nit
+            """)
+    List<EmpresaVersion> findVersiones();
 }
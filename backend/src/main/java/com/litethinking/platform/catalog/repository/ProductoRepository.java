@@ -1,20 +1,75 @@
 package com.litethinking.platform.catalog.repository;
 
 import com.litethinking.platform.catalog.domain.Producto;
-import org.springframework.data.jpa.repository.EntityGraph;
+import com.litethinking.platform.catalog.dto.ProductoReferencia;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import com.litethinking.platform.catalog.dto.VersionRegistro;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ProductoRepository extends JpaRepository<Producto, UUID> {
 
     boolean existsByCodigoAndEmpresaNit(String codigo, String empresaNit);
 
-    @EntityGraph(attributePaths = {"categorias", "precios"})
+    @Query("select p.codigo from Producto p where p.empresa.nit = :empresaNit and p.codigo in :codigos")
+    Set<String> findCodigosByEmpresaNitAndCodigoIn(@Param("empresaNit") String empresaNit,
+                                                   @Param("codigos") Collection<String> codigos);
+
+    // Precios and categorias are loaded lazily in batches keyed by product id (default_batch_fetch_size);
+    // fetch-joining both collections would return one row per precio x categoria combination.
     List<Producto> findByEmpresaNit(String empresaNit);
 
-    @EntityGraph(attributePaths = {"categorias", "precios"})
-    Optional<Producto> findById(UUID id);
+    @Query("select p from Producto p where p.empresa.nit = :empresaNit order by p.codigo, p.id")
+    List<Producto> findPageByEmpresaNit(@Param("empresaNit") String empresaNit, Pageable pageable);
+
+    @Query("""
+            select p from Producto p
+            where p.empresa.nit = :empresaNit
+              and (p.codigo > :codigo or (p.codigo = :codigo and p.id > :id))
+            order by p.codigo, p.id
+            """)
+    List<Producto> findPageByEmpresaNitAfter(@Param("empresaNit") String empresaNit,
+                                             @Param("codigo") String codigo,
+                                             @Param("id") UUID id,
+                                             Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Producto p where p.empresa.nit = :empresaNit order by p.codigo, p.id")
+    Stream<Producto> streamByEmpresaNit(@Param("empresaNit") String empresaNit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.litethinking.platform.catalog.dto.ProductoTexto(
+                p.id, p.empresa.nit, p.codigo, p.nombre, p.caracteristicas)
+            from Producto p
+            """)
+    Stream<ProductoTexto> streamTextos();
+
+    @Query("""
+            select new com.litethinking.platform.catalog.dto.ProductoReferencia(p.id, p.empresa.nit, p.nombre)
+            from Producto p
+            where p.id in :ids
+            """)
+    List<ProductoReferencia> findReferenciasByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new com.litethinking.platform.catalog.dto.VersionRegistro(p.version, p.actualizadoEn) from Producto p where p.id = :id")
+    Optional<VersionRegistro> findVersion(@Param("id") UUID id);
 }
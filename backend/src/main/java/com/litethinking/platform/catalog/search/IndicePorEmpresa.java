@@ -0,0 +1,73 @@
+package com.litethinking.platform.catalog.search;
+
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory catalog index split by empresa. {@link ProductoIndexador} builds and maintains every
+ * implementation; subclasses only define the per-empresa structure and how it is queried.
+ */
+public abstract class IndicePorEmpresa<I extends IndicePorEmpresa.Indice> {
+
+    private final Map<String, I> indices = new ConcurrentHashMap<>();
+
+    protected abstract I crear();
+
+    protected I indice(String empresaNit) {
+        return indices.get(empresaNit);
+    }
+
+    void guardar(ProductoTexto producto) {
+        indices.computeIfAbsent(producto.empresaNit(), nit -> crear()).guardar(producto);
+    }
+
+    void quitar(ProductoTexto producto) {
+        I indice = indices.get(producto.empresaNit());
+        if (indice != null) {
+            indice.quitar(producto.id());
+        }
+    }
+
+    void quitarEmpresa(String empresaNit) {
+        indices.remove(empresaNit);
+    }
+
+    /**
+     * Collects a full scan into fresh per-empresa indexes; readers keep the current ones until
+     * {@link Reconstruccion#publicar()} swaps them in.
+     */
+    Reconstruccion reconstruccion() {
+        Map<String, I> nuevos = new HashMap<>();
+        return new Reconstruccion() {
+            @Override
+            public void agregar(ProductoTexto producto) {
+                nuevos.computeIfAbsent(producto.empresaNit(), nit -> crear()).guardar(producto);
+            }
+
+            @Override
+            public void publicar() {
+                // Replace before dropping, so no lookup sees an empresa missing mid-swap.
+                indices.putAll(nuevos);
+                indices.keySet().retainAll(nuevos.keySet());
+            }
+        };
+    }
+
+    interface Reconstruccion {
+
+        void agregar(ProductoTexto producto);
+
+        void publicar();
+    }
+
+    protected interface Indice {
+
+        void guardar(ProductoTexto producto);
+
+        void quitar(UUID id);
+    }
+}
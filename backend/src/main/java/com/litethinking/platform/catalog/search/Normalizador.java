@@ -0,0 +1,54 @@
+package com.litethinking.platform.catalog.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by the catalog indexes: lower case, accents folded ("Camión" and
+ * "camion" match) and, for search terms, Spanish stop words dropped and plurals folded.
+ */
+public final class Normalizador {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo", "los", "o", "para",
+            "por", "que", "se", "sin", "su", "u", "un", "una", "y");
+
+    private Normalizador() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> terminos(String texto) {
+        List<String> terminos = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terminos.add(singular(token));
+            }
+        }
+        return terminos;
+    }
+
+    // Light plural folding: "monitores" -> "monitor", "teclados" -> "teclado".
+    static String singular(String token) {
+        int length = token.length();
+        if (length > 4 && token.endsWith("es") && "lnrdj".indexOf(token.charAt(length - 3)) >= 0) {
+            return token.substring(0, length - 2);
+        }
+        if (length > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+}
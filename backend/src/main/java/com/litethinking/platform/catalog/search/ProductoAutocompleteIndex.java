@@ -0,0 +1,108 @@
+package com.litethinking.platform.catalog.search;
+
+import com.litethinking.platform.catalog.dto.ProductoSummary;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-empresa prefix index for typeahead lookups on codigo and nombre. Keys are normalized with
+ * {@link Normalizador} and kept in sorted maps, so a lookup is a range scan that stops after
+ * {@code limite} hits. Reads take no locks; writes come from {@link ProductoIndexador}.
+ */
+@Component
+public class ProductoAutocompleteIndex extends IndicePorEmpresa<ProductoAutocompleteIndex.IndiceEmpresa> {
+
+    // Separates the normalized text from the id so equal names still get distinct keys, and sorts
+    // before any printable character so "laptop" comes ahead of "laptop gamer".
+    private static final char SEPARADOR = '\u0000';
+    private static final char FIN = Character.MAX_VALUE;
+
+    @Override
+    protected IndiceEmpresa crear() {
+        return new IndiceEmpresa();
+    }
+
+    /**
+     * Products whose codigo starts with the prefix come first, then those with a word of the nombre
+     * starting with it; each group is ordered by the matched text.
+     */
+    public List<ProductoSummary> autocompletar(String empresaNit, String prefijo, int limite) {
+        IndiceEmpresa indice = indice(empresaNit);
+        String normalizado = Normalizador.normalizar(prefijo).strip();
+        if (indice == null || normalizado.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Map<UUID, ProductoSummary> resultados = new LinkedHashMap<>();
+        indice.recolectar(indice.porCodigo, normalizado, limite, resultados);
+        indice.recolectar(indice.porNombre, normalizado, limite, resultados);
+        return new ArrayList<>(resultados.values());
+    }
+
+    static final class IndiceEmpresa implements IndicePorEmpresa.Indice {
+
+        private final ConcurrentNavigableMap<String, ProductoSummary> porCodigo = new ConcurrentSkipListMap<>();
+        private final ConcurrentNavigableMap<String, ProductoSummary> porNombre = new ConcurrentSkipListMap<>();
+        private final Map<UUID, Claves> claves = new HashMap<>();
+
+        @Override
+        public synchronized void guardar(ProductoTexto producto) {
+            quitar(producto.id());
+            ProductoSummary summary = new ProductoSummary(producto.id(), producto.codigo(), producto.nombre());
+            String codigo = clave(Normalizador.normalizar(producto.codigo()), producto.id());
+            Set<String> nombre = clavesDeNombre(producto);
+            porCodigo.put(codigo, summary);
+            nombre.forEach(clave -> porNombre.put(clave, summary));
+            claves.put(producto.id(), new Claves(codigo, nombre));
+        }
+
+        @Override
+        public synchronized void quitar(UUID id) {
+            Claves anteriores = claves.remove(id);
+            if (anteriores != null) {
+                porCodigo.remove(anteriores.codigo());
+                anteriores.nombre().forEach(porNombre::remove);
+            }
+        }
+
+        void recolectar(ConcurrentNavigableMap<String, ProductoSummary> mapa, String prefijo, int limite,
+                        Map<UUID, ProductoSummary> resultados) {
+            for (ProductoSummary summary : mapa.subMap(prefijo, prefijo + FIN).values()) {
+                if (resultados.size() >= limite) {
+                    return;
+                }
+                resultados.putIfAbsent(summary.id(), summary);
+            }
+        }
+
+        // The whole nombre plus every suffix starting at a word, so "gam" finds "Laptop gamer".
+        private static Set<String> clavesDeNombre(ProductoTexto producto) {
+            String nombre = Normalizador.normalizar(producto.nombre()).strip();
+            Set<String> resultado = new LinkedHashSet<>();
+            for (int i = 0; i < nombre.length(); i++) {
+                boolean inicioDePalabra = i == 0 || !Character.isLetterOrDigit(nombre.charAt(i - 1));
+                if (inicioDePalabra && Character.isLetterOrDigit(nombre.charAt(i))) {
+                    resultado.add(clave(nombre.substring(i), producto.id()));
+                }
+            }
+            return resultado;
+        }
+
+        private static String clave(String texto, UUID id) {
+            return texto + SEPARADOR + id;
+        }
+    }
+
+    private record Claves(String codigo, Set<String> nombre) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.litethinking.platform.catalog.search;
+
+import com.litethinking.platform.catalog.domain.EmpresaEliminada;
+import com.litethinking.platform.catalog.domain.ProductoCambio;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the in-memory catalog indexes in step with the database: all of them are built from a single
+ * scan at startup, then {@link ProductoCambio} and {@link EmpresaEliminada} events are applied after
+ * each commit. The startup scan runs while requests are already served; events that arrive during it
+ * are applied to the current indexes and reaplicados onto the new ones once they are swapped in.
+ */
+@Component
+public class ProductoIndexador {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoIndexador.class);
+
+    private final ProductoRepository productoRepository;
+    private final List<IndicePorEmpresa<?>> indices;
+    // Changes seen while a rebuild is scanning; null otherwise. Guarded by this.
+    private List<Consumer<IndicePorEmpresa<?>>> pendientes;
+
+    public ProductoIndexador(ProductoRepository productoRepository, List<IndicePorEmpresa<?>> indices) {
+        this.productoRepository = productoRepository;
+        this.indices = indices;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        synchronized (this) {
+            pendientes = new ArrayList<>();
+        }
+        List<IndicePorEmpresa.Reconstruccion> reconstrucciones = indices.stream()
+                .map(IndicePorEmpresa::reconstruccion)
+                .toList();
+        long[] total = new long[1];
+        int reaplicados;
+        try {
+            try (Stream<ProductoTexto> productos = productoRepository.streamTextos()) {
+                productos.forEach(producto -> {
+                    reconstrucciones.forEach(reconstruccion -> reconstruccion.agregar(producto));
+                    total[0]++;
+                });
+            }
+            synchronized (this) {
+                reconstrucciones.forEach(IndicePorEmpresa.Reconstruccion::publicar);
+                // The scan may predate these changes; replaying is idempotent when it already had them.
+                pendientes.forEach(indices::forEach);
+                reaplicados = pendientes.size();
+            }
+        } finally {
+            synchronized (this) {
+                pendientes = null;
+            }
+        }
+        log.info("Indices del catalogo construidos: {} productos en {} indices, {} cambios reaplicados",
+                total[0], indices.size(), reaplicados);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aplicar(ProductoCambio cambio) {
+        ProductoTexto producto = cambio.producto();
+        if (cambio.tipo() == ProductoCambio.Tipo.GUARDADO) {
+            registrar(indice -> indice.guardar(producto));
+        } else {
+            registrar(indice -> indice.quitar(producto));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aplicar(EmpresaEliminada evento) {
+        registrar(indice -> indice.quitarEmpresa(evento.nit()));
+    }
+
+    private synchronized void registrar(Consumer<IndicePorEmpresa<?>> cambio) {
+        if (pendientes != null) {
+            pendientes.add(cambio);
+        }
+        indices.forEach(cambio);
+    }
+}
@@ -0,0 +1,148 @@
+package com.litethinking.platform.catalog.search;
+
+import com.litethinking.platform.catalog.dto.ProductoBusquedaResponse;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-empresa inverted index over codigo, nombre and caracteristicas, ranked with BM25. Built and kept
+ * current by {@link ProductoIndexador}; searches never touch the database.
+ */
+@Component
+public class ProductoSearchIndex extends IndicePorEmpresa<ProductoSearchIndex.IndiceEmpresa> {
+
+    // Matches in codigo and nombre weigh more than matches in the free-text caracteristicas.
+    private static final int PESO_CODIGO = 3;
+    private static final int PESO_NOMBRE = 3;
+    private static final int PESO_CARACTERISTICAS = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Override
+    protected IndiceEmpresa crear() {
+        return new IndiceEmpresa();
+    }
+
+    public List<ProductoBusquedaResponse.Resultado> buscar(String empresaNit, String consulta, int limite) {
+        IndiceEmpresa indice = indice(empresaNit);
+        List<String> terminos = Normalizador.terminos(consulta);
+        if (indice == null || terminos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        return indice.buscar(terminos, limite);
+    }
+
+    static final class IndiceEmpresa implements IndicePorEmpresa.Indice {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<UUID, Documento> documentos = new HashMap<>();
+        private final Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+        private long longitudTotal;
+
+        @Override
+        public void guardar(ProductoTexto producto) {
+            Map<String, Integer> frecuencias = new HashMap<>();
+            acumular(frecuencias, Normalizador.terminos(producto.codigo()), PESO_CODIGO);
+            acumular(frecuencias, Normalizador.terminos(producto.nombre()), PESO_NOMBRE);
+            acumular(frecuencias, Normalizador.terminos(producto.caracteristicas()), PESO_CARACTERISTICAS);
+            int longitud = frecuencias.values().stream().mapToInt(Integer::intValue).sum();
+            Documento documento = new Documento(producto.id(), producto.codigo(), producto.nombre(), longitud, frecuencias);
+
+            lock.writeLock().lock();
+            try {
+                quitarSinBloqueo(producto.id());
+                documentos.put(documento.id(), documento);
+                frecuencias.forEach((termino, frecuencia) ->
+                        postings.computeIfAbsent(termino, t -> new HashMap<>()).put(documento.id(), frecuencia));
+                longitudTotal += longitud;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public void quitar(UUID id) {
+            lock.writeLock().lock();
+            try {
+                quitarSinBloqueo(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<ProductoBusquedaResponse.Resultado> buscar(List<String> terminos, int limite) {
+            lock.readLock().lock();
+            try {
+                int total = documentos.size();
+                if (total == 0) {
+                    return List.of();
+                }
+                double longitudMedia = (double) longitudTotal / total;
+                Map<UUID, Double> puntajes = new HashMap<>();
+                for (String termino : terminos.stream().distinct().toList()) {
+                    Map<UUID, Integer> lista = postings.get(termino);
+                    if (lista == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1 + (total - lista.size() + 0.5) / (lista.size() + 0.5));
+                    lista.forEach((id, frecuencia) -> {
+                        double normalizacion = K1 * (1 - B + B * documentos.get(id).longitud() / longitudMedia);
+                        puntajes.merge(id, idf * frecuencia * (K1 + 1) / (frecuencia + normalizacion), Double::sum);
+                    });
+                }
+
+                Comparator<Map.Entry<UUID, Double>> orden = Map.Entry.<UUID, Double>comparingByValue()
+                        .thenComparing(entry -> documentos.get(entry.getKey()).nombre(), Comparator.reverseOrder());
+                PriorityQueue<Map.Entry<UUID, Double>> mejores = new PriorityQueue<>(limite + 1, orden);
+                for (Map.Entry<UUID, Double> entry : puntajes.entrySet()) {
+                    mejores.offer(entry);
+                    if (mejores.size() > limite) {
+                        mejores.poll();
+                    }
+                }
+                List<ProductoBusquedaResponse.Resultado> resultados = new ArrayList<>(mejores.size());
+                while (!mejores.isEmpty()) {
+                    Map.Entry<UUID, Double> entry = mejores.poll();
+                    Documento documento = documentos.get(entry.getKey());
+                    resultados.add(0, new ProductoBusquedaResponse.Resultado(
+                            documento.id(), documento.codigo(), documento.nombre(), entry.getValue()));
+                }
+                return resultados;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void quitarSinBloqueo(UUID id) {
+            Documento anterior = documentos.remove(id);
+            if (anterior == null) {
+                return;
+            }
+            longitudTotal -= anterior.longitud();
+            anterior.frecuencias().keySet().forEach(termino -> {
+                Map<UUID, Integer> lista = postings.get(termino);
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    postings.remove(termino);
+                }
+            });
+        }
+
+        private static void acumular(Map<String, Integer> frecuencias, List<String> terminos, int peso) {
+            terminos.forEach(termino -> frecuencias.merge(termino, peso, Integer::sum));
+        }
+    }
+
+    private record Documento(UUID id, String codigo, String nombre, int longitud, Map<String, Integer> frecuencias) {
+    }
+}
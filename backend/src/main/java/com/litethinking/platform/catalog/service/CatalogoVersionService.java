@@ -0,0 +1,46 @@
+package com.litethinking.platform.catalog.service;
+
+import com.litethinking.platform.catalog.dto.RevisionCatalogo;
+import com.litethinking.platform.catalog.dto.VersionRegistro;
+import com.litethinking.platform.catalog.repository.CatalogoVersionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+public class CatalogoVersionService {
+
+    private final CatalogoVersionRepository repository;
+
+    public CatalogoVersionService(CatalogoVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    // Runs in the caller's transaction so the new version becomes visible together with the change.
+    @Transactional
+    public void incrementar(String empresaNit) {
+        Instant ahora = Instant.now();
+        UUID revision = UUID.randomUUID();
+        if (repository.incrementar(empresaNit, ahora, revision) == 0) {
+            repository.insertarSiNoExiste(empresaNit, ahora);
+            repository.incrementar(empresaNit, ahora, revision);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long obtener(String empresaNit) {
+        return repository.findVersion(empresaNit).orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public RevisionCatalogo revision(String empresaNit) {
+        return repository.findRevision(empresaNit).orElse(RevisionCatalogo.INICIAL);
+    }
+
+    @Transactional(readOnly = true)
+    public VersionRegistro registro(String empresaNit) {
+        return repository.findRegistro(empresaNit).orElse(VersionRegistro.INICIAL);
+    }
+}
@@ -0,0 +1,100 @@
+package com.litethinking.platform.catalog.service;
+
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.repository.CategoriaRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide nombre to Categoria dictionary. Categories are only ever created, never renamed or removed,
+ * so cached (detached) instances stay valid and can be linked to products by id without a query.
+ */
+@Component
+public class CategoriaCache {
+
+    private final CategoriaRepository categoriaRepository;
+    private final ConcurrentMap<String, Categoria> porNombre = new ConcurrentHashMap<>();
+
+    public CategoriaCache(CategoriaRepository categoriaRepository) {
+        this.categoriaRepository = categoriaRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        categoriaRepository.findAll().forEach(categoria -> porNombre.putIfAbsent(categoria.getNombre(), categoria));
+    }
+
+    /**
+     * Resolves every nombre to a Categoria, creating the missing ones. Cache misses cost one IN query,
+     * plus an insert-if-absent per new name and one more IN query when some did not exist yet.
+     */
+    @Transactional
+    public Set<Categoria> resolver(Collection<String> nombres) {
+        Map<String, Categoria> resueltas = new LinkedHashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        for (String nombre : new LinkedHashSet<>(nombres)) {
+            Categoria cached = porNombre.get(nombre);
+            if (cached != null) {
+                resueltas.put(nombre, cached);
+            } else {
+                faltantes.add(nombre);
+            }
+        }
+        if (faltantes.isEmpty()) {
+            return new LinkedHashSet<>(resueltas.values());
+        }
+
+        Map<String, Categoria> cargadas = new LinkedHashMap<>();
+        categoriaRepository.findByNombreIn(faltantes).forEach(categoria -> cargadas.put(categoria.getNombre(), categoria));
+        List<String> nuevas = faltantes.stream().filter(nombre -> !cargadas.containsKey(nombre)).toList();
+        if (!nuevas.isEmpty()) {
+            nuevas.forEach(nombre -> categoriaRepository.insertarSiNoExiste(UUID.randomUUID(), nombre));
+            categoriaRepository.findByNombreIn(nuevas).forEach(categoria -> cargadas.put(categoria.getNombre(), categoria));
+        }
+
+        for (String nombre : faltantes) {
+            Categoria categoria = cargadas.get(nombre);
+            if (categoria == null) {
+                throw new IllegalStateException("No fue posible resolver la categoria " + nombre);
+            }
+            resueltas.put(nombre, categoria);
+        }
+        registrar(cargadas.values());
+
+        Set<Categoria> resultado = new LinkedHashSet<>();
+        for (String nombre : nombres) {
+            resultado.add(resueltas.get(nombre));
+        }
+        return resultado;
+    }
+
+    // Rows inserted by the current transaction are only cached once they are committed.
+    private void registrar(Collection<Categoria> categorias) {
+        List<Categoria> copia = List.copyOf(categorias);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            copia.forEach(categoria -> porNombre.putIfAbsent(categoria.getNombre(), categoria));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                copia.forEach(categoria -> porNombre.putIfAbsent(categoria.getNombre(), categoria));
+            }
+        });
+    }
+}
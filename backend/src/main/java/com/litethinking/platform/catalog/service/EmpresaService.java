@@ -1,13 +1,17 @@
 package com.litethinking.platform.catalog.service;
 
 import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.EmpresaEliminada;
 import com.litethinking.platform.catalog.dto.EmpresaRequest;
 import com.litethinking.platform.catalog.dto.EmpresaResponse;
 import com.litethinking.platform.catalog.dto.EmpresaUpdateRequest;
+import com.litethinking.platform.catalog.dto.EmpresaVersion;
 import com.litethinking.platform.catalog.mapper.EmpresaMapper;
 import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.common.api.RecursoVersion;
 import com.litethinking.platform.common.exception.ResourceAlreadyExistsException;
 import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,10 +22,17 @@ public class EmpresaService {
 
     private final EmpresaRepository empresaRepository;
     private final EmpresaMapper empresaMapper;
+    private final CatalogoVersionService catalogoVersionService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public EmpresaService(EmpresaRepository empresaRepository, EmpresaMapper empresaMapper) {
+    public EmpresaService(EmpresaRepository empresaRepository,
+                          EmpresaMapper empresaMapper,
+                          CatalogoVersionService catalogoVersionService,
+                          ApplicationEventPublisher eventPublisher) {
         this.empresaRepository = empresaRepository;
         this.empresaMapper = empresaMapper;
+        this.catalogoVersionService = catalogoVersionService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -32,6 +43,8 @@ public class EmpresaService {
 
         Empresa empresa = empresaMapper.toEntity(request);
         Empresa saved = empresaRepository.save(empresa);
+        // Seeds (or, for a re-created nit, advances) the catalog version the listing validators use.
+        catalogoVersionService.incrementar(saved.getNit());
         return empresaMapper.toResponse(saved);
     }
 
@@ -42,6 +55,29 @@ public class EmpresaService {
                 .toList();
     }
 
+    /**
+     * Changes with any empresa being created, updated or deleted and with any product change, which
+     * is what the listing shows.
+     */
+    @Transactional(readOnly = true)
+    public RecursoVersion versionListado() {
+        long hash = 1;
+        for (EmpresaVersion version : empresaRepository.findVersiones()) {
+            hash = 31 * hash + version.nit().hashCode();
+            hash = 31 * hash + version.version();
+            hash = 31 * hash + version.versionCatalogo();
+        }
+        return RecursoVersion.debil("empresas-" + Long.toHexString(hash), null);
+    }
+
+    @Transactional(readOnly = true)
+    public RecursoVersion version(String nit) {
+        EmpresaVersion version = empresaRepository.findVersion(nit)
+                .orElseThrow(() -> new ResourceNotFoundException("Empresa no encontrada"));
+        return RecursoVersion.debil("empresa-" + nit + "-" + version.version() + "-" + version.versionCatalogo(),
+                version.ultimaModificacion());
+    }
+
     @Transactional(readOnly = true)
     public EmpresaResponse obtener(String nit) {
         Empresa empresa = empresaRepository.findById(nit)
@@ -54,6 +90,8 @@ public class EmpresaService {
         Empresa empresa = empresaRepository.findById(nit)
                 .orElseThrow(() -> new ResourceNotFoundException("Empresa no encontrada"));
         empresa.update(request.nombre(), request.direccion(), request.telefono());
+        // The empresa header is part of the inventory PDF.
+        catalogoVersionService.incrementar(nit);
         return empresaMapper.toResponse(empresa);
     }
 
@@ -63,5 +101,8 @@ public class EmpresaService {
             throw new ResourceNotFoundException("Empresa no encontrada");
         }
         empresaRepository.deleteById(nit);
+        // Its product listing is now empty; the version row outlives the empresa so it stays monotonic.
+        catalogoVersionService.incrementar(nit);
+        eventPublisher.publishEvent(new EmpresaEliminada(nit));
     }
 }
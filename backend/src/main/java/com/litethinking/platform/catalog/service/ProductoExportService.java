@@ -0,0 +1,50 @@
+package com.litethinking.platform.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.dto.ProductoResponse;
+import com.litethinking.platform.catalog.mapper.ProductoMapper;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.common.persistence.ChunkedStreams;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+@Service
+public class ProductoExportService {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final ProductoRepository productoRepository;
+    private final ProductoMapper productoMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public ProductoExportService(ProductoRepository productoRepository,
+                                 ProductoMapper productoMapper,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper) {
+        this.productoRepository = productoRepository;
+        this.productoMapper = productoMapper;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(ProductoResponse.class);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarPorEmpresa(String empresaNit, OutputStream output) throws IOException {
+        try (Stream<Producto> productos = productoRepository.streamByEmpresaNit(empresaNit)) {
+            return ChunkedStreams.forEachChunk(productos, CHUNK_SIZE, entityManager, chunk -> {
+                for (Producto producto : chunk) {
+                    output.write(writer.writeValueAsBytes(productoMapper.toResponse(producto)));
+                    output.write('\n');
+                }
+                output.flush();
+            });
+        }
+    }
+}
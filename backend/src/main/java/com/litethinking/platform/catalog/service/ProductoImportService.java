@@ -0,0 +1,266 @@
+package com.litethinking.platform.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoCambio;
+import com.litethinking.platform.catalog.domain.ProductoPrecio;
+import com.litethinking.platform.catalog.dto.ProductoImportResponse;
+import com.litethinking.platform.catalog.dto.ProductoRequest;
+import com.litethinking.platform.catalog.importer.ProductoImportReader;
+import com.litethinking.platform.catalog.importer.ProductoImportRow;
+import com.litethinking.platform.catalog.mapper.ProductoMapper;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk product import. Rows are streamed from the request, validated one by one and persisted in
+ * chunks, each chunk in its own transaction so a large file never holds one long transaction open.
+ * Inserts are flushed together and go out as JDBC batches ({@code hibernate.jdbc.batch_size}).
+ */
+@Service
+public class ProductoImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoImportService.class);
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_ERRORES = 1000;
+    private static final String RESTRICCION_CODIGO = "uk_productos_empresa_codigo";
+
+    private final ProductoRepository productoRepository;
+    private final EmpresaRepository empresaRepository;
+    private final CategoriaCache categoriaCache;
+    private final ProductoMapper productoMapper;
+    private final CatalogoVersionService catalogoVersionService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductoImportService(ProductoRepository productoRepository,
+                                 EmpresaRepository empresaRepository,
+                                 CategoriaCache categoriaCache,
+                                 ProductoMapper productoMapper,
+                                 CatalogoVersionService catalogoVersionService,
+                                 EntityManager entityManager,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.productoRepository = productoRepository;
+        this.empresaRepository = empresaRepository;
+        this.categoriaCache = categoriaCache;
+        this.productoMapper = productoMapper;
+        this.catalogoVersionService = catalogoVersionService;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ProductoImportResponse importarCsv(InputStream input) throws IOException {
+        try (ProductoImportReader reader = ProductoImportReader.csv(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return importar(reader);
+        }
+    }
+
+    public ProductoImportResponse importarNdjson(InputStream input) throws IOException {
+        try (ProductoImportReader reader = ProductoImportReader.ndjson(
+                new InputStreamReader(input, StandardCharsets.UTF_8), objectMapper)) {
+            return importar(reader);
+        }
+    }
+
+    ProductoImportResponse importar(ProductoImportReader reader) {
+        Reporte reporte = new Reporte();
+        Set<String> vistos = new HashSet<>();
+        List<ProductoImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (reader.hasNext()) {
+            ProductoImportRow row = reader.next();
+            reporte.total++;
+            if (row.error() != null) {
+                reporte.fallo(row.fila(), null, List.of(row.error()));
+                continue;
+            }
+            ProductoRequest request = row.request();
+            List<String> errores = validar(request);
+            if (!errores.isEmpty()) {
+                reporte.fallo(row.fila(), request.codigo(), errores);
+                continue;
+            }
+            if (!vistos.add(request.empresaNit() + '\u0000' + request.codigo())) {
+                reporte.fallo(row.fila(), request.codigo(), List.of("El producto esta repetido en el archivo"));
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                persistir(chunk, reporte);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistir(chunk, reporte);
+        }
+        return reporte.toResponse();
+    }
+
+    private List<String> validar(ProductoRequest request) {
+        Set<ConstraintViolation<ProductoRequest>> violations = validator.validate(request);
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private void persistir(List<ProductoImportRow> chunk, Reporte reporte) {
+        try {
+            reporte.aplicar(transactionTemplate.execute(status -> guardar(chunk)));
+        } catch (RuntimeException ex) {
+            // One bad row rolls back the whole chunk; retry row by row to report it and keep the rest.
+            log.warn("Fallo el lote de importacion de {} productos, reintentando por fila: {}", chunk.size(), ex.getMessage());
+            for (ProductoImportRow row : chunk) {
+                try {
+                    reporte.aplicar(transactionTemplate.execute(status -> guardar(List.of(row))));
+                } catch (RuntimeException rowEx) {
+                    // A concurrent insert of the same codigo can still slip past the existentes check.
+                    reporte.fallo(row.fila(), row.request().codigo(), List.of(esProductoRepetido(rowEx)
+                            ? "El producto ya existe para la empresa"
+                            : "No fue posible guardar el producto"));
+                }
+            }
+        }
+    }
+
+    // Runs inside the chunk transaction; the result is only applied to the report once it committed.
+    private Resultado guardar(List<ProductoImportRow> chunk) {
+        Map<String, List<ProductoImportRow>> porEmpresa = new LinkedHashMap<>();
+        Set<String> nombres = new LinkedHashSet<>();
+        for (ProductoImportRow row : chunk) {
+            porEmpresa.computeIfAbsent(row.request().empresaNit(), nit -> new ArrayList<>()).add(row);
+            if (row.request().categorias() != null) {
+                nombres.addAll(row.request().categorias());
+            }
+        }
+        Map<String, Categoria> categorias = new HashMap<>();
+        categoriaCache.resolver(nombres).forEach(categoria -> categorias.put(categoria.getNombre(), categoria));
+
+        Resultado resultado = new Resultado();
+        for (Map.Entry<String, List<ProductoImportRow>> entry : porEmpresa.entrySet()) {
+            List<ProductoImportRow> rows = entry.getValue();
+            Empresa empresa = empresaRepository.findById(entry.getKey()).orElse(null);
+            if (empresa == null) {
+                rows.forEach(row -> resultado.rechazar(row, "Empresa no encontrada"));
+                continue;
+            }
+            Set<String> existentes = productoRepository.findCodigosByEmpresaNitAndCodigoIn(
+                    empresa.getNit(), rows.stream().map(row -> row.request().codigo()).toList());
+            int nuevos = 0;
+            for (ProductoImportRow row : rows) {
+                if (existentes.contains(row.request().codigo())) {
+                    resultado.rechazar(row, "El producto ya existe para la empresa");
+                    continue;
+                }
+                Producto producto = nuevoProducto(row.request(), empresa, categorias);
+                entityManager.persist(producto);
+                eventPublisher.publishEvent(ProductoCambio.guardado(producto));
+                nuevos++;
+            }
+            if (nuevos > 0) {
+                catalogoVersionService.incrementar(empresa.getNit());
+            }
+            resultado.importados += nuevos;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return resultado;
+    }
+
+    // The explicit flush is not exception-translated, so the violation may arrive as Hibernate's own
+    // exception or, when a repository query flushed first, wrapped in a DataAccessException.
+    private static boolean esProductoRepetido(Throwable ex) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName() != null
+                        && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(RESTRICCION_CODIGO);
+            }
+        }
+        return false;
+    }
+
+    private Producto nuevoProducto(ProductoRequest request, Empresa empresa, Map<String, Categoria> categorias) {
+        Producto producto = new Producto(request.codigo(), request.nombre(), request.caracteristicas(), empresa);
+        Set<ProductoPrecio> precios = productoMapper.toPrecioEntities(request.precios());
+        precios.forEach(precio -> precio.setProducto(producto));
+        producto.replacePrecios(precios);
+        Set<Categoria> asignadas = new LinkedHashSet<>();
+        if (request.categorias() != null) {
+            request.categorias().forEach(nombre -> asignadas.add(categorias.get(nombre)));
+        }
+        producto.setCategorias(asignadas);
+        return producto;
+    }
+
+    private static final class Resultado {
+
+        private int importados;
+        private final List<ProductoImportResponse.Error> rechazos = new ArrayList<>();
+
+        void rechazar(ProductoImportRow row, String mensaje) {
+            rechazos.add(new ProductoImportResponse.Error(row.fila(), row.request().codigo(), List.of(mensaje)));
+        }
+    }
+
+    private static final class Reporte {
+
+        private long total;
+        private long importados;
+        private long fallidos;
+        private final List<ProductoImportResponse.Error> errores = new ArrayList<>();
+
+        void fallo(long fila, String codigo, List<String> mensajes) {
+            fallidos++;
+            if (errores.size() < MAX_ERRORES) {
+                errores.add(new ProductoImportResponse.Error(fila, codigo, mensajes));
+            }
+        }
+
+        void aplicar(Resultado resultado) {
+            importados += resultado.importados;
+            resultado.rechazos.forEach(error -> fallo(error.fila(), error.codigo(), error.mensajes()));
+        }
+
+        ProductoImportResponse toResponse() {
+            errores.sort((a, b) -> Long.compare(a.fila(), b.fila()));
+            return new ProductoImportResponse(total, importados, fallidos, List.copyOf(errores), fallidos > errores.size());
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package com.litethinking.platform.catalog.service;
 
-import com.litethinking.platform.catalog.domain.Categoria;
 import com.litethinking.platform.catalog.domain.Empresa;
 import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoCambio;
 import com.litethinking.platform.catalog.domain.ProductoPrecio;
 import com.litethinking.platform.catalog.dto.ProductoRequest;
 import com.litethinking.platform.catalog.dto.ProductoResponse;
+import com.litethinking.platform.catalog.dto.VersionRegistro;
 import com.litethinking.platform.catalog.mapper.ProductoMapper;
-import com.litethinking.platform.catalog.repository.CategoriaRepository;
 import com.litethinking.platform.catalog.repository.EmpresaRepository;
 import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.common.api.Cursor;
+import com.litethinking.platform.common.api.CursorPage;
+import com.litethinking.platform.common.api.RecursoVersion;
 import com.litethinking.platform.common.exception.ResourceAlreadyExistsException;
 import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -25,17 +28,23 @@ public class ProductoService {
 
     private final ProductoRepository productoRepository;
     private final EmpresaRepository empresaRepository;
-    private final CategoriaRepository categoriaRepository;
+    private final CategoriaCache categoriaCache;
     private final ProductoMapper productoMapper;
+    private final CatalogoVersionService catalogoVersionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductoService(ProductoRepository productoRepository,
                            EmpresaRepository empresaRepository,
-                           CategoriaRepository categoriaRepository,
-                           ProductoMapper productoMapper) {
+                           CategoriaCache categoriaCache,
+                           ProductoMapper productoMapper,
+                           CatalogoVersionService catalogoVersionService,
+                           ApplicationEventPublisher eventPublisher) {
         this.productoRepository = productoRepository;
         this.empresaRepository = empresaRepository;
-        this.categoriaRepository = categoriaRepository;
+        this.categoriaCache = categoriaCache;
         this.productoMapper = productoMapper;
+        this.catalogoVersionService = catalogoVersionService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -57,9 +66,11 @@ public class ProductoService {
         Set<ProductoPrecio> precios = productoMapper.toPrecioEntities(request.precios());
         precios.forEach(precio -> precio.setProducto(producto));
         producto.replacePrecios(precios);
-        producto.setCategorias(resolveCategorias(request.categorias()));
+        producto.setCategorias(categoriaCache.resolver(request.categorias()));
 
         Producto saved = productoRepository.save(producto);
+        catalogoVersionService.incrementar(empresa.getNit());
+        eventPublisher.publishEvent(ProductoCambio.guardado(saved));
         return productoMapper.toResponse(saved);
     }
 
@@ -70,6 +81,35 @@ public class ProductoService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ProductoResponse> listarPaginaPorEmpresa(String empresaNit, String cursor, int size) {
+        int pageSize = CursorPage.normalizeSize(size);
+        List<Producto> productos;
+        if (cursor == null || cursor.isBlank()) {
+            productos = productoRepository.findPageByEmpresaNit(empresaNit, CursorPage.window(pageSize));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            productos = productoRepository.findPageByEmpresaNitAfter(
+                    empresaNit, after.key(), after.id(), CursorPage.window(pageSize));
+        }
+        return CursorPage.of(productos, pageSize,
+                producto -> new Cursor(producto.getCodigo(), producto.getId()),
+                productoMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public RecursoVersion versionListado(String empresaNit) {
+        VersionRegistro registro = catalogoVersionService.registro(empresaNit);
+        return RecursoVersion.debil("productos-" + empresaNit + "-" + registro.version(), registro.actualizadoEn());
+    }
+
+    @Transactional(readOnly = true)
+    public RecursoVersion version(UUID id) {
+        VersionRegistro registro = productoRepository.findVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
+        return RecursoVersion.debil("producto-" + id + "-" + registro.version(), registro.actualizadoEn());
+    }
+
     @Transactional(readOnly = true)
     public ProductoResponse obtener(UUID id) {
         Producto producto = productoRepository.findById(id)
@@ -86,26 +126,19 @@ public class ProductoService {
         Set<ProductoPrecio> precios = productoMapper.toPrecioEntities(request.precios());
         precios.forEach(precio -> precio.setProducto(producto));
         producto.replacePrecios(precios);
-        producto.setCategorias(resolveCategorias(request.categorias()));
+        producto.setCategorias(categoriaCache.resolver(request.categorias()));
+        catalogoVersionService.incrementar(producto.getEmpresa().getNit());
+        eventPublisher.publishEvent(ProductoCambio.guardado(producto));
 
         return productoMapper.toResponse(producto);
     }
 
     @Transactional
     public void eliminar(UUID id) {
-        if (!productoRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Producto no encontrado");
-        }
-        productoRepository.deleteById(id);
-    }
-
-    private Set<Categoria> resolveCategorias(List<String> nombres) {
-        Set<Categoria> categorias = new HashSet<>();
-        for (String nombre : nombres) {
-            Categoria categoria = categoriaRepository.findByNombre(nombre)
-                    .orElseGet(() -> categoriaRepository.save(new Categoria(nombre)));
-            categorias.add(categoria);
-        }
-        return categorias;
+        Producto producto = productoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
+        productoRepository.delete(producto);
+        catalogoVersionService.incrementar(producto.getEmpresa().getNit());
+        eventPublisher.publishEvent(ProductoCambio.eliminado(producto));
     }
 }
@@ -0,0 +1,28 @@
+package com.litethinking.platform.common.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+public record Cursor(String key, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor invalido");
+            }
+            return new Cursor(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor invalido", ex);
+        }
+    }
+}
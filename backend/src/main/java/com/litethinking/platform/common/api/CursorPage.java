@@ -0,0 +1,38 @@
+package com.litethinking.platform.common.api;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Requests one row more than the page size so the caller can tell whether a next page exists
+     * without running a count query.
+     */
+    public static Pageable window(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static <E, T> CursorPage<T> of(List<E> rows,
+                                          int size,
+                                          Function<E, Cursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
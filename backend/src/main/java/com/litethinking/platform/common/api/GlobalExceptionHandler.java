@@ -4,6 +4,8 @@ import com.litethinking.platform.common.exception.InvalidCredentialsException;
 import com.litethinking.platform.common.exception.ResourceAlreadyExistsException;
 import com.litethinking.platform.common.exception.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -40,6 +42,33 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    // Unique constraints catch the races the service-level existence checks cannot.
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrity(DataIntegrityViolationException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(
+                        HttpStatus.CONFLICT.value(),
+                        HttpStatus.CONFLICT.getReasonPhrase(),
+                        "El recurso ya existe o entra en conflicto con otro registro",
+                        List.of(),
+                        request.getRequestURI()
+                ));
+    }
+
+    // Empresa and Producto are versioned; the losing update of a concurrent pair must re-read and retry.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLocking(OptimisticLockingFailureException ex,
+                                                                 HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(
+                        HttpStatus.CONFLICT.value(),
+                        HttpStatus.CONFLICT.getReasonPhrase(),
+                        "El recurso fue modificado por otra solicitud; consultelo de nuevo antes de actualizarlo",
+                        List.of(),
+                        request.getRequestURI()
+                ));
+    }
+
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCredentials(InvalidCredentialsException ex, HttpServletRequest request) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
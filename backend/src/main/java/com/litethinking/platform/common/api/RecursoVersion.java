@@ -0,0 +1,30 @@
+package com.litethinking.platform.common.api;
+
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+
+/**
+ * Validators of a representation for conditional GETs. Resolving one must be cheaper than building
+ * the body: the controller answers 304 from it before loading any entity.
+ */
+public record RecursoVersion(
+        String etag,
+        Instant ultimaModificacion
+) {
+
+    public static RecursoVersion debil(String valor, Instant ultimaModificacion) {
+        return new RecursoVersion("W/\"" + valor + "\"", ultimaModificacion);
+    }
+
+    /**
+     * Evaluates If-None-Match / If-Modified-Since and writes the ETag and Last-Modified headers, so
+     * the controller only has to choose between a 304 and the full body.
+     */
+    public boolean noModificado(WebRequest request) {
+        if (ultimaModificacion == null) {
+            return request.checkNotModified(etag);
+        }
+        return request.checkNotModified(etag, ultimaModificacion.toEpochMilli());
+    }
+}
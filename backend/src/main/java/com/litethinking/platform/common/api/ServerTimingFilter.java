@@ -0,0 +1,100 @@
+package com.litethinking.platform.common.api;
+
+import com.litethinking.platform.common.persistence.ConsultasSql;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements of each request and reports them in a {@code Server-Timing} header
+ * ({@code db} with count and time, {@code total}), written just before the response commits. Requests
+ * above {@code sql.presupuesto-consultas} statements are logged. For streamed responses the values
+ * cover the work done before streaming started.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding the {@link ConsultasSql.Medicion} of the request. */
+    public static final String ATRIBUTO = ServerTimingFilter.class.getName() + ".consultas";
+    static final String ENCABEZADO = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final int presupuesto;
+    private final boolean encabezado;
+
+    public ServerTimingFilter(@Value("${sql.presupuesto-consultas:20}") int presupuesto,
+                              @Value("${sql.server-timing.enabled:true}") boolean encabezado) {
+        this.presupuesto = presupuesto;
+        this.encabezado = encabezado;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        ConsultasSql.Medicion medicion = ConsultasSql.iniciar();
+        request.setAttribute(ATRIBUTO, medicion);
+        ServerTimingResponse wrapped = new ServerTimingResponse(response, medicion, inicio);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            ConsultasSql.terminar();
+            wrapped.escribir();
+            if (medicion.consultas() > presupuesto) {
+                log.warn("{} {} ejecuto {} consultas SQL (presupuesto {}): db={} ms, total={} ms",
+                        request.getMethod(), request.getRequestURI(), medicion.consultas(), presupuesto,
+                        formato(medicion.milisegundos()), formato(milisegundosDesde(inicio)));
+            }
+        }
+    }
+
+    private static double milisegundosDesde(long inicio) {
+        return (System.nanoTime() - inicio) / 1_000_000.0;
+    }
+
+    private static String formato(double milisegundos) {
+        return String.format(Locale.ROOT, "%.1f", milisegundos);
+    }
+
+    private final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final ConsultasSql.Medicion medicion;
+        private final long inicio;
+        private boolean escrito;
+
+        ServerTimingResponse(HttpServletResponse response, ConsultasSql.Medicion medicion, long inicio) {
+            super(response);
+            this.medicion = medicion;
+            this.inicio = inicio;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            escribir();
+        }
+
+        void escribir() {
+            if (escrito || !encabezado || isCommitted()) {
+                return;
+            }
+            escrito = true;
+            setHeader(ENCABEZADO, "db;dur=" + formato(medicion.milisegundos()) + ";desc=\"" + medicion.consultas()
+                    + " consultas\", total;dur=" + formato(milisegundosDesde(inicio)));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.litethinking.platform.common.config;
+
+import com.litethinking.platform.common.persistence.ConsultasSql;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application DataSource through a proxy that feeds {@link ConsultasSql}. Only the bean
+ * named {@code dataSource} is wrapped: with read replicas the routing DataSource sits behind it and
+ * would otherwise count every statement twice.
+ */
+@Configuration
+public class ConsultasSqlConfig {
+
+    @Bean
+    static BeanPostProcessor consultasSqlDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new ConsultasSql())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,239 @@
+package com.litethinking.platform.common.config;
+
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.repository.CategoriaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Bulk-seeds synthetic empresas, productos, clientes and ordenes for load tests (profile {@code carga}).
+ * Rows go in as plain JDBC batches, one transaction per empresa, and the daily sales rollups of each
+ * generated empresa are rebuilt from its orders. All values derive from {@code carga.semilla}, so the
+ * same settings produce the same data; empresas that already exist are skipped, which makes a re-run
+ * against the same database a no-op.
+ */
+@Component
+@Profile("carga")
+public class GeneradorDatosDeCarga implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneradorDatosDeCarga.class);
+
+    static final long NIT_INICIAL = 800_000_000L;
+    static final String DOMINIO_CLIENTES = "@carga.litethinking.com";
+
+    private static final int LOTE = 1000;
+    private static final List<String> CATEGORIAS = List.of("Tecnologia", "Hogar", "Oficina", "Hardware Profesional",
+            "Servicios Cloud");
+    private static final List<String> SUSTANTIVOS = List.of("Laptop", "Monitor", "Teclado", "Mouse", "Router",
+            "Licencia", "Camara", "Parlante", "Servidor", "Tablet");
+    private static final List<String> ADJETIVOS = List.of("Pro", "Basico", "Empresarial", "Compacto", "Ultra",
+            "Inalambrico", "Modular", "Plus");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoriaRepository categoriaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int empresas;
+    private final int productosPorEmpresa;
+    private final int ordenesPorEmpresa;
+    private final int clientes;
+    private final int dias;
+    private final long semilla;
+    private final String zonaHoraria;
+
+    public GeneradorDatosDeCarga(JdbcTemplate jdbcTemplate,
+                                 CategoriaRepository categoriaRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${carga.empresas:10}") int empresas,
+                                 @Value("${carga.productos-por-empresa:1000}") int productosPorEmpresa,
+                                 @Value("${carga.ordenes-por-empresa:1000}") int ordenesPorEmpresa,
+                                 @Value("${carga.clientes:500}") int clientes,
+                                 @Value("${carga.dias:90}") int dias,
+                                 @Value("${carga.semilla:42}") long semilla,
+                                 @Value("${ventas.zona-horaria}") String zonaHoraria) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoriaRepository = categoriaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.empresas = empresas;
+        this.productosPorEmpresa = productosPorEmpresa;
+        this.ordenesPorEmpresa = ordenesPorEmpresa;
+        this.clientes = Math.max(1, clientes);
+        this.dias = Math.max(1, dias);
+        this.semilla = semilla;
+        this.zonaHoraria = zonaHoraria;
+    }
+
+    @Override
+    public void run(String... args) {
+        long inicio = System.nanoTime();
+        List<UUID> categorias = transactionTemplate.execute(status -> asegurarCategorias());
+        List<UUID> clienteIds = transactionTemplate.execute(status -> asegurarClientes());
+        // The reference instant is fixed as well, so order dates do not move between runs.
+        Instant referencia = Instant.parse("2024-01-01T00:00:00Z").plus(Duration.ofDays(dias));
+        int generadas = 0;
+        for (int i = 0; i < empresas; i++) {
+            String nit = String.valueOf(NIT_INICIAL + i);
+            Random random = new Random(semilla * 31 + i);
+            Boolean creada = transactionTemplate.execute(status ->
+                    generarEmpresa(nit, random, categorias, clienteIds, referencia));
+            if (Boolean.TRUE.equals(creada)) {
+                generadas++;
+            }
+        }
+        log.info("Datos de carga: {} empresas nuevas de {} ({} productos y {} ordenes cada una) en {} ms",
+                generadas, empresas, productosPorEmpresa, ordenesPorEmpresa,
+                Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+    }
+
+    private List<UUID> asegurarCategorias() {
+        List<UUID> ids = new ArrayList<>();
+        for (String nombre : CATEGORIAS) {
+            categoriaRepository.insertarSiNoExiste(UUID.randomUUID(), nombre);
+            ids.add(categoriaRepository.findByNombre(nombre).map(Categoria::getId).orElseThrow());
+        }
+        return ids;
+    }
+
+    private List<UUID> asegurarClientes() {
+        Random random = new Random(semilla);
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            filas.add(new Object[]{uuid(random), "Cliente Carga " + i, "cliente" + i + DOMINIO_CLIENTES});
+        }
+        insertar("insert into clientes (id, nombre, correo) values (?, ?, ?) on conflict do nothing", filas);
+        return jdbcTemplate.queryForList("select id from clientes where correo like ? order by correo",
+                UUID.class, "%" + DOMINIO_CLIENTES);
+    }
+
+    private boolean generarEmpresa(String nit, Random random, List<UUID> categorias, List<UUID> clienteIds,
+                                   Instant referencia) {
+        Integer existentes = jdbcTemplate.queryForObject("select count(*) from empresas where nit = ?", Integer.class, nit);
+        if (existentes != null && existentes > 0) {
+            return false;
+        }
+        OffsetDateTime ahora = OffsetDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.update("""
+                insert into empresas (nit, nombre, direccion, telefono, version, actualizado_en)
+                values (?, ?, ?, ?, 0, ?)
+                """, nit, "Empresa Carga " + nit, "Calle " + random.nextInt(200) + " #" + random.nextInt(100),
+                "+57 601 " + (1_000_000 + random.nextInt(9_000_000)), ahora);
+        jdbcTemplate.update("""
+                insert into catalogo_versiones (empresa_nit, version, actualizado_en)
+                values (?, 1, ?)
+                on conflict do nothing
+                """, nit, ahora);
+
+        List<UUID> productos = new ArrayList<>(productosPorEmpresa);
+        List<BigDecimal> preciosCop = new ArrayList<>(productosPorEmpresa);
+        List<Object[]> filasProductos = new ArrayList<>();
+        List<Object[]> filasPrecios = new ArrayList<>();
+        List<Object[]> filasCategorias = new ArrayList<>();
+        for (int p = 0; p < productosPorEmpresa; p++) {
+            UUID id = uuid(random);
+            String nombre = SUSTANTIVOS.get(random.nextInt(SUSTANTIVOS.size())) + " "
+                    + ADJETIVOS.get(random.nextInt(ADJETIVOS.size())) + " " + p;
+            BigDecimal cop = BigDecimal.valueOf(10_000 + random.nextInt(9_990_000));
+            productos.add(id);
+            preciosCop.add(cop);
+            filasProductos.add(new Object[]{id, nit, String.format("CARGA-%06d", p), nombre,
+                    "Producto sintetico para pruebas de carga", ahora});
+            filasPrecios.add(new Object[]{uuid(random), id, "COP", cop});
+            filasPrecios.add(new Object[]{uuid(random), id, "USD", cop.divide(BigDecimal.valueOf(4_000), 2, RoundingMode.HALF_UP)});
+            int primera = random.nextInt(categorias.size());
+            filasCategorias.add(new Object[]{categorias.get(primera), id});
+            if (random.nextBoolean()) {
+                filasCategorias.add(new Object[]{categorias.get((primera + 1) % categorias.size()), id});
+            }
+        }
+        insertar("""
+                insert into productos (id, empresa_nit, codigo, nombre, caracteristicas, version, actualizado_en)
+                values (?, ?, ?, ?, ?, 0, ?)
+                """, filasProductos);
+        insertar("insert into producto_precios (id, producto_id, moneda, valor) values (?, ?, ?, ?)", filasPrecios);
+        insertar("insert into producto_categoria (categoria_id, producto_id) values (?, ?)", filasCategorias);
+
+        if (!productos.isEmpty()) {
+            generarOrdenes(nit, random, productos, preciosCop, clienteIds, referencia);
+        }
+        return true;
+    }
+
+    private void generarOrdenes(String nit, Random random, List<UUID> productos, List<BigDecimal> precios,
+                                List<UUID> clienteIds, Instant referencia) {
+        List<Object[]> filasOrdenes = new ArrayList<>();
+        List<Object[]> filasItems = new ArrayList<>();
+        long ventana = Duration.ofDays(dias).toSeconds();
+        for (int o = 0; o < ordenesPorEmpresa; o++) {
+            UUID ordenId = uuid(random);
+            OffsetDateTime fecha = OffsetDateTime.ofInstant(
+                    referencia.minusSeconds((long) (random.nextDouble() * ventana)), ZoneOffset.UTC);
+            int lineas = 1 + random.nextInt(Math.min(5, productos.size()));
+            int primero = random.nextInt(productos.size());
+            BigDecimal total = BigDecimal.ZERO;
+            for (int l = 0; l < lineas; l++) {
+                // Consecutive products keep the lines of one order distinct.
+                int indice = (primero + l) % productos.size();
+                int cantidad = 1 + random.nextInt(10);
+                BigDecimal subtotal = precios.get(indice).multiply(BigDecimal.valueOf(cantidad));
+                total = total.add(subtotal);
+                filasItems.add(new Object[]{uuid(random), ordenId, productos.get(indice), cantidad,
+                        precios.get(indice), subtotal});
+            }
+            filasOrdenes.add(new Object[]{ordenId, nit, clienteIds.get(random.nextInt(clienteIds.size())), fecha,
+                    total, lineas});
+        }
+        insertar("""
+                insert into ordenes (id, empresa_nit, cliente_id, fecha, total, item_count)
+                values (?, ?, ?, ?, ?, ?)
+                """, filasOrdenes);
+        insertar("""
+                insert into orden_items (id, orden_id, producto_id, cantidad, precio_unitario, subtotal)
+                values (?, ?, ?, ?, ?, ?)
+                """, filasItems);
+
+        // Same aggregation as the V4 backfill, limited to this empresa.
+        jdbcTemplate.update("""
+                insert into ventas_diarias_empresa (empresa_nit, dia, ordenes, unidades, ingresos)
+                select o.empresa_nit, cast(o.fecha at time zone '%s' as date), count(distinct o.id), sum(i.cantidad), sum(i.subtotal)
+                from ordenes o
+                join orden_items i on i.orden_id = o.id
+                where o.empresa_nit = ?
+                group by o.empresa_nit, cast(o.fecha at time zone '%s' as date)
+                """.formatted(zonaHoraria, zonaHoraria), nit);
+        jdbcTemplate.update("""
+                insert into ventas_diarias_producto (empresa_nit, dia, producto_id, ordenes, unidades, ingresos)
+                select o.empresa_nit, cast(o.fecha at time zone '%s' as date), i.producto_id, count(distinct o.id), sum(i.cantidad), sum(i.subtotal)
+                from ordenes o
+                join orden_items i on i.orden_id = o.id
+                where o.empresa_nit = ?
+                group by o.empresa_nit, cast(o.fecha at time zone '%s' as date), i.producto_id
+                """.formatted(zonaHoraria, zonaHoraria), nit);
+    }
+
+    private void insertar(String sql, List<Object[]> filas) {
+        for (int desde = 0; desde < filas.size(); desde += LOTE) {
+            jdbcTemplate.batchUpdate(sql, filas.subList(desde, Math.min(filas.size(), desde + LOTE)));
+        }
+    }
+
+    private static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
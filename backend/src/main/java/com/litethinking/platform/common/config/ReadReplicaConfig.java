@@ -0,0 +1,79 @@
+package com.litethinking.platform.common.config;
+
+import com.litethinking.platform.common.persistence.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource when read replicas are configured. The primary keeps the
+ * {@code spring.datasource.*} and {@code spring.datasource.hikari.*} settings; replicas share its
+ * credentials unless overridden.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "database.replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            DataSourceProperties properties,
+            HikariDataSource primaryDataSource,
+            @Value("${database.replicas.urls}") List<String> urls,
+            @Value("${database.replicas.username:}") String username,
+            @Value("${database.replicas.password:}") String password,
+            @Value("${database.replicas.max-pool-size:10}") int maxPoolSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        // The replica pools are not beans, so the Hikari metrics auto-configuration never sees them.
+        List<HikariDataSource> pools = new ArrayList<>(List.of(primaryDataSource));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username.isBlank() ? properties.determineUsername() : username)
+                    .password(password.isBlank() ? properties.determinePassword() : password)
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setMaximumPoolSize(maxPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+            pools.add(replica);
+        }
+        meterRegistry.ifAvailable(registry -> pools.stream()
+                .filter(pool -> pool.getMetricsTrackerFactory() == null)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry))));
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
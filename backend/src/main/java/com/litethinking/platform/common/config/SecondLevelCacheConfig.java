@@ -0,0 +1,71 @@
+package com.litethinking.platform.common.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoPrecio;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the catalog reference data read on every write: empresas,
+ * categorias, precios and the precios/categorias collections of a product. Each region is a bounded
+ * Caffeine cache with a write TTL; hits, misses and puts per region are published through the
+ * Hibernate statistics metrics.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "catalog.second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    static final List<String> REGIONES = List.of(
+            Empresa.class.getName(),
+            Categoria.class.getName(),
+            ProductoPrecio.class.getName(),
+            Producto.class.getName() + ".precios",
+            Producto.class.getName() + ".categorias"
+    );
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${catalog.second-level-cache.max-entries:10000}") long maxEntries,
+            @Value("${catalog.second-level-cache.ttl:10m}") Duration ttl) {
+        // A URI of its own keeps every application context on a separate manager.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONES) {
+            CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+            configuracion.setMaximumSize(OptionalLong.of(maxEntries));
+            configuracion.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuracion.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuracion);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // An entity annotated with @Cache but missing from REGIONES fails at startup instead of
+            // silently getting an unbounded cache.
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.litethinking.platform.common.exception;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,77 @@
+package com.litethinking.platform.common.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Value of the {@code empresa} metric tag. Only NITs of existing empresas get their own series, up to
+ * {@code metrics.empresa-tag.max-valores} of them; unknown NITs, which come straight from request input,
+ * and any empresa past the limit are reported as {@value #OTROS}. Unknown NITs are remembered for a
+ * while so repeated junk does not cost a lookup per call.
+ */
+@Component
+public class EmpresaTag {
+
+    public static final String NOMBRE = "empresa";
+    static final String OTROS = "otros";
+    static final String NINGUNA = "ninguna";
+
+    private final Predicate<String> existe;
+    private final int maxValores;
+    private final Set<String> conocidas = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> desconocidas;
+
+    @Autowired
+    public EmpresaTag(EmpresaRepository empresaRepository,
+                      @Value("${metrics.empresa-tag.max-valores:100}") int maxValores,
+                      @Value("${metrics.empresa-tag.ttl-desconocidas:1m}") Duration ttlDesconocidas) {
+        this(empresaRepository::existsById, maxValores, ttlDesconocidas);
+    }
+
+    EmpresaTag(Predicate<String> existe, int maxValores, Duration ttlDesconocidas) {
+        this.existe = existe;
+        this.maxValores = maxValores;
+        this.desconocidas = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(ttlDesconocidas)
+                .build();
+    }
+
+    public String valor(String empresaNit) {
+        if (empresaNit == null || empresaNit.isBlank()) {
+            return NINGUNA;
+        }
+        if (conocidas.contains(empresaNit)) {
+            return empresaNit;
+        }
+        if (conocidas.size() >= maxValores || desconocidas.getIfPresent(empresaNit) != null) {
+            return OTROS;
+        }
+        if (!existe(empresaNit)) {
+            desconocidas.put(empresaNit, Boolean.TRUE);
+            return OTROS;
+        }
+        // Racing registrations may overshoot the limit by a few entries, which is harmless.
+        conocidas.add(empresaNit);
+        return empresaNit;
+    }
+
+    private boolean existe(String empresaNit) {
+        try {
+            return existe.test(empresaNit);
+        } catch (DataAccessException ex) {
+            // A metric tag must never fail the operation it measures.
+            return false;
+        }
+    }
+}
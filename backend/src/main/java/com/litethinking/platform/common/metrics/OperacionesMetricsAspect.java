@@ -0,0 +1,135 @@
+package com.litethinking.platform.common.metrics;
+
+import com.litethinking.platform.catalog.domain.Empresa;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Times every public method of the application's {@code @Service} beans ({@value #SERVICIO}) and every
+ * call to the mail and document storage providers ({@value #INTEGRACION}), tagged with the outcome,
+ * the exception and, when the arguments name one, the empresa. Runs outside the transaction advice,
+ * so service timings include the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OperacionesMetricsAspect {
+
+    public static final String SERVICIO = "platform.servicio";
+    public static final String INTEGRACION = "platform.integracion";
+
+    private static final Function<Object[], String> SIN_EMPRESA = args -> null;
+
+    private final MeterRegistry meterRegistry;
+    private final EmpresaTag empresaTag;
+    private final Map<Method, Function<Object[], String>> extractores = new ConcurrentHashMap<>();
+
+    public OperacionesMetricsAspect(MeterRegistry meterRegistry, EmpresaTag empresaTag) {
+        this.meterRegistry = meterRegistry;
+        this.empresaTag = empresaTag;
+    }
+
+    @Around("execution(public * com.litethinking.platform..*(..))"
+            + " && @within(org.springframework.stereotype.Service)"
+            + " && !execution(* com.litethinking.platform.inventory.service.MailService+.*(..))"
+            + " && !execution(* com.litethinking.platform.inventory.service.DocumentStorageService+.*(..))")
+    public Object servicio(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature firma = (MethodSignature) joinPoint.getSignature();
+        Tags tags = Tags.of(
+                Tag.of("servicio", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName()),
+                Tag.of("operacion", firma.getName()),
+                Tag.of(EmpresaTag.NOMBRE, empresaTag.valor(empresa(firma, joinPoint.getArgs()))));
+        return medir(SERVICIO, "Latencia de las operaciones de servicio", tags, joinPoint);
+    }
+
+    @Around("execution(* com.litethinking.platform.inventory.service.MailService+.sendInventoryEmail(..))")
+    public Object correo(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(INTEGRACION, "Latencia de las llamadas a proveedores externos", integracion("correo", joinPoint),
+                joinPoint);
+    }
+
+    @Around("execution(* com.litethinking.platform.inventory.service.DocumentStorageService+.storeInventoryPdf(..))")
+    public Object almacenamiento(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(INTEGRACION, "Latencia de las llamadas a proveedores externos",
+                integracion("almacenamiento", joinPoint), joinPoint);
+    }
+
+    private Tags integracion(String tipo, ProceedingJoinPoint joinPoint) {
+        return Tags.of(
+                Tag.of("integracion", tipo),
+                Tag.of("proveedor", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName()));
+    }
+
+    private Object medir(String nombre, String descripcion, Tags tags, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "exito";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(nombre)
+                    .description(descripcion)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String empresa(MethodSignature firma, Object[] args) {
+        return extractores.computeIfAbsent(firma.getMethod(), metodo -> extractor(firma)).apply(args);
+    }
+
+    // Resolved once per method: a String parameter named empresaNit or nit, an Empresa, or an
+    // argument (typically a request record) with an empresaNit() accessor.
+    private static Function<Object[], String> extractor(MethodSignature firma) {
+        String[] nombres = firma.getParameterNames();
+        Class<?>[] tipos = firma.getParameterTypes();
+        for (int i = 0; i < tipos.length; i++) {
+            int posicion = i;
+            if (tipos[i] == String.class && nombres != null
+                    && ("empresaNit".equals(nombres[i]) || "nit".equals(nombres[i]))) {
+                return args -> (String) args[posicion];
+            }
+            if (Empresa.class.isAssignableFrom(tipos[i])) {
+                return args -> args[posicion] == null ? null : ((Empresa) args[posicion]).getNit();
+            }
+            try {
+                Method accessor = tipos[i].getMethod("empresaNit");
+                if (accessor.getReturnType() == String.class) {
+                    return args -> args[posicion] == null ? null : invocar(accessor, args[posicion]);
+                }
+            } catch (NoSuchMethodException e) {
+                // not a carrier of the empresa
+            }
+        }
+        return SIN_EMPRESA;
+    }
+
+    private static String invocar(Method accessor, Object argumento) {
+        try {
+            return (String) accessor.invoke(argumento);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
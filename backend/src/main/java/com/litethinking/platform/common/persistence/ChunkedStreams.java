@@ -0,0 +1,52 @@
+package com.litethinking.platform.common.persistence;
+
+import jakarta.persistence.EntityManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public final class ChunkedStreams {
+
+    private ChunkedStreams() {
+    }
+
+    /**
+     * Feeds a cursor-backed stream to the consumer in fixed-size chunks and clears the persistence
+     * context after each chunk, so memory stays flat regardless of how many rows the cursor returns.
+     * Lazy associations touched inside the consumer are batch-fetched for the whole chunk.
+     */
+    public static <T> long forEachChunk(Stream<T> stream,
+                                        int chunkSize,
+                                        EntityManager entityManager,
+                                        ChunkConsumer<T> consumer) throws IOException {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long total = 0;
+        Iterator<T> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize) {
+                total += process(chunk, entityManager, consumer);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            total += process(chunk, entityManager, consumer);
+        }
+        return total;
+    }
+
+    private static <T> int process(List<T> chunk, EntityManager entityManager, ChunkConsumer<T> consumer) throws IOException {
+        int size = chunk.size();
+        consumer.accept(chunk);
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    @FunctionalInterface
+    public interface ChunkConsumer<T> {
+        void accept(List<T> chunk) throws IOException;
+    }
+}
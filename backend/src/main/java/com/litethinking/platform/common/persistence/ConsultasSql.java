@@ -0,0 +1,59 @@
+package com.litethinking.platform.common.persistence;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Statements executed on the current thread between {@link #iniciar()} and {@link #terminar()}, and
+ * the time spent in them. Fed by the proxy around the application DataSource; a JDBC batch counts as
+ * one statement, and threads without a started measurement are ignored.
+ */
+public final class ConsultasSql implements QueryExecutionListener {
+
+    private static final ThreadLocal<Medicion> ACTUAL = new ThreadLocal<>();
+
+    public static Medicion iniciar() {
+        Medicion medicion = new Medicion();
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    public static void terminar() {
+        ACTUAL.remove();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Medicion medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.inicio = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Medicion medicion = ACTUAL.get();
+        if (medicion != null) {
+            medicion.consultas++;
+            medicion.nanos += System.nanoTime() - medicion.inicio;
+        }
+    }
+
+    public static final class Medicion {
+
+        private volatile int consultas;
+        private volatile long nanos;
+        private long inicio;
+
+        public int consultas() {
+            return consultas;
+        }
+
+        public double milisegundos() {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
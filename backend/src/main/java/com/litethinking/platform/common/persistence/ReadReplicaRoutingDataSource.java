@@ -0,0 +1,134 @@
+package com.litethinking.platform.common.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica (round robin) and everything else
+ * to the primary. A replica that fails to hand out a connection is taken out of rotation until the
+ * periodic health check sees it answer again; meanwhile reads fall back to the primary.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction managers open the connection before the read-only flag is bound to the thread.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger siguiente = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + (i + 1), replicas.get(i)));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = elegirReplica();
+            while (replica != null) {
+                try {
+                    return replica.conectar(username, password);
+                } catch (SQLException ex) {
+                    replica.marcarCaida(ex);
+                    replica = elegirReplica();
+                }
+            }
+        }
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${database.replicas.health-check-interval-ms:10000}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.marcarSana();
+                } else {
+                    replica.marcarCaida(null);
+                }
+            } catch (SQLException ex) {
+                replica.marcarCaida(ex);
+            }
+        }
+    }
+
+    public List<String> replicasSanas() {
+        return replicas.stream().filter(replica -> replica.sana).map(replica -> replica.nombre).toList();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Replica elegirReplica() {
+        int total = replicas.size();
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), Math.max(total, 1));
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (replica.sana) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean sana = true;
+
+        private Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+
+        private Connection conectar(String username, String password) throws SQLException {
+            return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+        }
+
+        private void marcarCaida(SQLException ex) {
+            if (sana) {
+                log.warn("Replica {} fuera de servicio, las lecturas van al primario: {}", nombre,
+                        ex != null ? ex.getMessage() : "conexion invalida");
+            }
+            sana = false;
+        }
+
+        private void marcarSana() {
+            if (!sana) {
+                log.info("Replica {} disponible de nuevo", nombre);
+            }
+            sana = true;
+        }
+    }
+}
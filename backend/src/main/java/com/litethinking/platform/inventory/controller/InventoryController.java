@@ -1,9 +1,12 @@
 package com.litethinking.platform.inventory.controller;
 
+import com.litethinking.platform.inventory.dto.InventoryEmailJobResponse;
 import com.litethinking.platform.inventory.dto.InventoryEmailRequest;
 import com.litethinking.platform.inventory.service.InventoryService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,6 +16,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -26,19 +35,36 @@ public class InventoryController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{empresaNit}/pdf")
-    public ResponseEntity<byte[]> descargarPdf(@PathVariable String empresaNit) {
-        byte[] pdf = inventoryService.generarPdf(empresaNit);
+    public ResponseEntity<StreamingResponseBody> descargarPdf(@PathVariable String empresaNit, WebRequest webRequest) {
+        // Validates the empresa (404) before the response is committed; the PDF itself is written on the async thread.
+        String etag = inventoryService.etagPdf(empresaNit);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        StreamingResponseBody body = output -> inventoryService.escribirPdf(empresaNit, output);
         return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=inventory-" + empresaNit + ".pdf")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                .body(body);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/{empresaNit}/email")
-    public ResponseEntity<Void> enviarPorCorreo(@PathVariable String empresaNit,
-                                                @Valid @RequestBody InventoryEmailRequest request) {
-        inventoryService.enviarInventario(empresaNit, request.emailDestino());
-        return ResponseEntity.accepted().build();
+    public ResponseEntity<InventoryEmailJobResponse> enviarPorCorreo(@PathVariable String empresaNit,
+                                                                     @Valid @RequestBody InventoryEmailRequest request) {
+        InventoryEmailJobResponse job = inventoryService.enviarInventario(empresaNit, request.emailDestino());
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/inventory/jobs/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<InventoryEmailJobResponse> obtenerEnvio(@PathVariable UUID id) {
+        return ResponseEntity.ok(inventoryService.obtenerEnvio(id));
     }
 }
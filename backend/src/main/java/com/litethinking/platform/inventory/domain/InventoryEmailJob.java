@@ -0,0 +1,155 @@
+package com.litethinking.platform.inventory.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "inventory_email_jobs",
+        indexes = @Index(name = "idx_inventory_email_jobs_status_next", columnList = "status, next_attempt_at"))
+public class InventoryEmailJob {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator
+    private UUID id;
+
+    @Column(name = "empresa_nit", nullable = false, length = 20)
+    private String empresaNit;
+
+    @Column(name = "email_destino", nullable = false)
+    private String emailDestino;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private InventoryEmailJobStatus status = InventoryEmailJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "storage_location")
+    private String storageLocation;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    protected InventoryEmailJob() {
+    }
+
+    public InventoryEmailJob(String empresaNit, String emailDestino) {
+        this.empresaNit = empresaNit;
+        this.emailDestino = emailDestino;
+    }
+
+    @PrePersist
+    void onCreate() {
+        Instant now = Instant.now();
+        createdAt = now;
+        updatedAt = now;
+        if (nextAttemptAt == null) {
+            nextAttemptAt = now;
+        }
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    public void markSent(String storageLocation) {
+        this.status = InventoryEmailJobStatus.SENT;
+        this.storageLocation = storageLocation;
+        this.lockedUntil = null;
+        this.lastError = null;
+    }
+
+    public void scheduleRetry(String error, Instant nextAttemptAt) {
+        this.status = InventoryEmailJobStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lockedUntil = null;
+        this.lastError = truncate(error);
+    }
+
+    public void markFailed(String error) {
+        this.status = InventoryEmailJobStatus.FAILED;
+        this.lockedUntil = null;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEmpresaNit() {
+        return empresaNit;
+    }
+
+    public String getEmailDestino() {
+        return emailDestino;
+    }
+
+    public InventoryEmailJobStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public String getStorageLocation() {
+        return storageLocation;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.litethinking.platform.inventory.domain;
+
+public enum InventoryEmailJobStatus {
+    PENDING,
+    PROCESSING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,35 @@
+package com.litethinking.platform.inventory.dto;
+
+import com.litethinking.platform.inventory.domain.InventoryEmailJob;
+import com.litethinking.platform.inventory.domain.InventoryEmailJobStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record InventoryEmailJobResponse(
+        UUID id,
+        String empresaNit,
+        String emailDestino,
+        InventoryEmailJobStatus status,
+        int attempts,
+        Instant nextAttemptAt,
+        String storageLocation,
+        String lastError,
+        Instant createdAt,
+        Instant updatedAt
+) {
+    public static InventoryEmailJobResponse from(InventoryEmailJob job) {
+        return new InventoryEmailJobResponse(
+                job.getId(),
+                job.getEmpresaNit(),
+                job.getEmailDestino(),
+                job.getStatus(),
+                job.getAttempts(),
+                job.getNextAttemptAt(),
+                job.getStorageLocation(),
+                job.getLastError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package com.litethinking.platform.inventory.report;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoPrecio;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the inventory table incrementally: the table is marked incomplete, so every {@link #write}
+ * renders its rows straight to the output and drops them from memory.
+ */
+public class InventoryPdfWriter implements AutoCloseable {
+
+    private final Document document;
+    private final PdfPTable table;
+    private int escritos;
+    private boolean closed;
+
+    InventoryPdfWriter(Empresa empresa, OutputStream output) {
+        this.document = new Document();
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, output);
+            writer.setCloseStream(false);
+
+            document.open();
+            document.add(new Paragraph("Inventario de productos"));
+            document.add(new Paragraph("Empresa: " + empresa.getNombre() + " (" + empresa.getNit() + ")"));
+            document.add(new Paragraph(" "));
+        } catch (DocumentException e) {
+            throw new IllegalStateException("No fue posible generar el PDF", e);
+        }
+
+        this.table = new PdfPTable(5);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+
+        addHeader("Codigo");
+        addHeader("Nombre");
+        addHeader("Caracteristicas");
+        addHeader("Categorias");
+        addHeader("Precios");
+    }
+
+    public void write(List<Producto> productos) {
+        for (Producto producto : productos) {
+            table.addCell(producto.getCodigo());
+            table.addCell(producto.getNombre());
+            table.addCell(producto.getCaracteristicas() != null ? producto.getCaracteristicas() : "-");
+            String categorias = producto.getCategorias().stream()
+                    .map(Categoria::getNombre)
+                    .collect(Collectors.joining(", "));
+            table.addCell(categorias.isBlank() ? "-" : categorias);
+
+            String precios = producto.getPrecios().stream()
+                    .map(this::formatPrecio)
+                    .collect(Collectors.joining("\n"));
+            table.addCell(precios.isBlank() ? "-" : precios);
+        }
+        escritos += productos.size();
+        flush();
+    }
+
+    /** Products written so far. */
+    public int productos() {
+        return escritos;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        table.setComplete(true);
+        flush();
+        document.close();
+    }
+
+    private void flush() {
+        try {
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IllegalStateException("No fue posible generar el PDF", e);
+        }
+    }
+
+    private void addHeader(String text) {
+        PdfPCell cell = new PdfPCell(new Paragraph(text));
+        table.addCell(cell);
+    }
+
+    private String formatPrecio(ProductoPrecio precio) {
+        return precio.getMoneda() + " " + precio.getValor();
+    }
+}
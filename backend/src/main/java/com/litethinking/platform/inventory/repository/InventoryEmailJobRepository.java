@@ -0,0 +1,74 @@
+package com.litethinking.platform.inventory.repository;
+
+import com.litethinking.platform.inventory.domain.InventoryEmailJob;
+import com.litethinking.platform.inventory.domain.InventoryEmailJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface InventoryEmailJobRepository extends JpaRepository<InventoryEmailJob, UUID> {
+
+    // Due jobs, plus jobs whose worker lease expired (the instance died mid-run).
+    @Query("""
+            select j.id from InventoryEmailJob j
+            where (j.status = com.litethinking.platform.inventory.domain.InventoryEmailJobStatus.PENDING and j.nextAttemptAt <= :now)
+               or (j.status = com.litethinking.platform.inventory.domain.InventoryEmailJobStatus.PROCESSING and j.lockedUntil < :now)
+            order by j.nextAttemptAt
+            """)
+    List<UUID> findRunnableIds(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Conditional claim: only one worker (across instances) sees an update count of 1 for a given job.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update InventoryEmailJob j
+            set j.status = com.litethinking.platform.inventory.domain.InventoryEmailJobStatus.PROCESSING,
+                j.lockedUntil = :leaseUntil,
+                j.attempts = j.attempts + 1,
+                j.updatedAt = :now
+            where j.id = :id
+              and ((j.status = com.litethinking.platform.inventory.domain.InventoryEmailJobStatus.PENDING and j.nextAttemptAt <= :now)
+                or (j.status = com.litethinking.platform.inventory.domain.InventoryEmailJobStatus.PROCESSING and j.lockedUntil < :now))
+            """)
+    int claim(@Param("id") UUID id, @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    /**
+     * Whether the lease taken by {@link #claim} is still held, i.e. no other worker claimed the job since.
+     */
+    boolean existsByIdAndLockedUntil(UUID id, Instant lockedUntil);
+
+    /**
+     * Records the outcome of a run only while the worker still holds its lease. Once the lease expired and
+     * another worker claimed the job, the update count is 0 and this outcome is dropped.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update InventoryEmailJob j
+            set j.status = :status,
+                j.nextAttemptAt = :nextAttemptAt,
+                j.lockedUntil = null,
+                j.storageLocation = :storageLocation,
+                j.lastError = :lastError,
+                j.updatedAt = :now
+            where j.id = :id
+              and j.status = com.litethinking.platform.inventory.domain.InventoryEmailJobStatus.PROCESSING
+              and j.lockedUntil = :leaseUntil
+            """)
+    int complete(@Param("id") UUID id,
+                 @Param("leaseUntil") Instant leaseUntil,
+                 @Param("status") InventoryEmailJobStatus status,
+                 @Param("nextAttemptAt") Instant nextAttemptAt,
+                 @Param("storageLocation") String storageLocation,
+                 @Param("lastError") String lastError,
+                 @Param("now") Instant now);
+}
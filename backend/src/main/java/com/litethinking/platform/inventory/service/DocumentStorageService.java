@@ -1,5 +1,14 @@
 package com.litethinking.platform.inventory.service;
 
+import java.util.UUID;
+
 public interface DocumentStorageService {
-    String storeInventoryPdf(String empresaNit, byte[] pdfContent);
+
+    /**
+     * Stores the PDF rendered from the given catalog revision. Objects are named after the empresa and that
+     * revision, so an unchanged catalog is stored once: the PDF bytes themselves differ on every render
+     * (iText writes a creation date and a random document ID) and cannot identify it. The version only
+     * makes names readable; it restarts whenever the database is recreated or restored.
+     */
+    String storeInventoryPdf(String empresaNit, long catalogVersion, UUID catalogRevision, byte[] pdfContent);
 }
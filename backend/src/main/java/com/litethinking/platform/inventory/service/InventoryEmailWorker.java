@@ -0,0 +1,150 @@
+package com.litethinking.platform.inventory.service;
+
+import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.inventory.domain.InventoryEmailJob;
+import com.litethinking.platform.inventory.repository.InventoryEmailJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Polls the inventory_email_jobs table and runs due jobs on a bounded pool. Jobs are claimed with a
+ * conditional update and a lease, so several instances can share the queue and a crashed worker's
+ * jobs are picked up again once the lease expires. Outcomes are recorded only while the lease is still
+ * held, so a worker that overran it cannot overwrite the run of the worker that took the job over.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.email", name = "worker-enabled", havingValue = "true", matchIfMissing = true)
+public class InventoryEmailWorker implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEmailWorker.class);
+
+    private final InventoryEmailJobRepository jobRepository;
+    private final InventoryService inventoryService;
+    private final MailService mailService;
+    private final Duration lease;
+    private final Clock clock;
+    private final Semaphore permits;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    public InventoryEmailWorker(InventoryEmailJobRepository jobRepository,
+                                InventoryService inventoryService,
+                                MailService mailService,
+                                @Value("${inventory.email.workers:4}") int workers,
+                                @Value("${inventory.email.lease:10m}") Duration lease) {
+        this(jobRepository, inventoryService, mailService, workers, lease, Clock.systemUTC());
+    }
+
+    InventoryEmailWorker(InventoryEmailJobRepository jobRepository,
+                         InventoryService inventoryService,
+                         MailService mailService,
+                         int workers,
+                         Duration lease,
+                         Clock clock) {
+        this.jobRepository = jobRepository;
+        this.inventoryService = inventoryService;
+        this.mailService = mailService;
+        this.lease = lease;
+        this.clock = clock;
+        this.permits = new Semaphore(workers);
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("inventory-email-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.email.poll-interval-ms:5000}")
+    public void poll() {
+        int capacity = permits.availablePermits();
+        if (capacity == 0) {
+            return;
+        }
+        Instant now = clock.instant();
+        // The lease doubles as the claim token, so keep it at the precision the column stores.
+        Instant leaseUntil = now.plus(lease).truncatedTo(ChronoUnit.MICROS);
+        for (UUID jobId : jobRepository.findRunnableIds(now, PageRequest.of(0, capacity))) {
+            if (!permits.tryAcquire()) {
+                return;
+            }
+            if (jobRepository.claim(jobId, now, leaseUntil) == 0) {
+                permits.release();
+                continue;
+            }
+            submit(jobId, leaseUntil);
+        }
+    }
+
+    void procesar(UUID jobId, Instant leaseUntil) {
+        InventoryEmailJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        try {
+            InventoryService.Pdf pdf = inventoryService.generarPdf(job.getEmpresaNit());
+            if (!jobRepository.existsByIdAndLockedUntil(jobId, leaseUntil)) {
+                // Another worker owns the job now; sending here as well would deliver the mail twice.
+                log.warn("Envio de inventario {} abandonado: el lease vencio antes de entregar", jobId);
+                return;
+            }
+            job.markSent(inventoryService.entregarInventario(job.getEmpresaNit(), job.getEmailDestino(), pdf));
+            log.info("Inventario {} enviado a {} (intento {})", job.getEmpresaNit(), job.getEmailDestino(), job.getAttempts());
+        } catch (ResourceNotFoundException ex) {
+            job.markFailed(ex.getMessage());
+            log.warn("Envio de inventario {} descartado: {}", jobId, ex.getMessage());
+        } catch (RuntimeException ex) {
+            RetryPolicy policy = mailService.retryPolicy();
+            if (policy.canRetry(job.getAttempts())) {
+                job.scheduleRetry(ex.getMessage(), clock.instant().plus(policy.backoff(job.getAttempts())));
+                log.warn("Envio de inventario {} fallo (intento {}), se reintentara: {}", jobId, job.getAttempts(), ex.getMessage());
+            } else {
+                job.markFailed(ex.getMessage());
+                log.error("Envio de inventario {} fallo definitivamente tras {} intentos", jobId, job.getAttempts(), ex);
+            }
+        }
+        if (jobRepository.complete(jobId, leaseUntil, job.getStatus(), job.getNextAttemptAt(),
+                job.getStorageLocation(), job.getLastError(), clock.instant()) == 0) {
+            log.warn("Resultado del envio de inventario {} descartado: el lease vencio y otro worker lo reclamo", jobId);
+        }
+    }
+
+    private void submit(UUID jobId, Instant leaseUntil) {
+        try {
+            executor.execute(() -> {
+                try {
+                    procesar(jobId, leaseUntil);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            // The lease expires and the job is claimed again on a later poll.
+            permits.release();
+            log.warn("Envio de inventario {} rechazado por el pool de trabajo", jobId);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,110 @@
+package com.litethinking.platform.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Generated inventory PDFs per empresa, valid while the catalog version they were rendered from is current.
+ * Bounded by total bytes; PDFs above the per-entry limit are streamed but never cached.
+ */
+@Component
+public class InventoryPdfCache {
+
+    private final Cache<String, CachedPdf> cache;
+    private final long maxEntryBytes;
+
+    public InventoryPdfCache(@Value("${inventory.pdf-cache.max-size:64MB}") DataSize maxSize,
+                             @Value("${inventory.pdf-cache.max-entry-size:8MB}") DataSize maxEntrySize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String nit, CachedPdf pdf) -> pdf.content().length)
+                .build();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+    }
+
+    public Optional<byte[]> get(String empresaNit, long version) {
+        CachedPdf cached = cache.getIfPresent(empresaNit);
+        if (cached == null || cached.version() != version) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.content());
+    }
+
+    public void put(String empresaNit, long version, byte[] content) {
+        if (content.length > maxEntryBytes) {
+            return;
+        }
+        // Never replace a newer rendering with an older one.
+        cache.asMap().merge(empresaNit, new CachedPdf(version, content),
+                (actual, candidate) -> candidate.version() >= actual.version() ? candidate : actual);
+    }
+
+    public void invalidate(String empresaNit) {
+        cache.invalidate(empresaNit);
+    }
+
+    /**
+     * Wraps the destination so the written bytes are also kept, up to the per-entry limit.
+     */
+    public Capture capture(OutputStream destination) {
+        return new Capture(destination, maxEntryBytes);
+    }
+
+    private record CachedPdf(long version, byte[] content) {
+    }
+
+    public static final class Capture extends FilterOutputStream {
+
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private long bytes;
+
+        private Capture(OutputStream destination, long limit) {
+            super(destination);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (keep(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (keep(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        /** Bytes written so far, including those past the per-entry limit. */
+        public long bytes() {
+            return bytes;
+        }
+
+        public Optional<byte[]> captured() {
+            return Optional.ofNullable(copy).map(ByteArrayOutputStream::toByteArray);
+        }
+
+        // Counts the bytes and tells whether they still fit in the copy, dropping it once they do not.
+        private boolean keep(int len) {
+            bytes += len;
+            if (copy != null && copy.size() + (long) len > limit) {
+                copy = null;
+            }
+            return copy != null;
+        }
+    }
+}
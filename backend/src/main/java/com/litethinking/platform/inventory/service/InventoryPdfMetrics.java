@@ -0,0 +1,53 @@
+package com.litethinking.platform.inventory.service;
+
+import com.litethinking.platform.common.metrics.EmpresaTag;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size and product-count distributions of the inventory PDFs served, split by whether they were
+ * rendered or came from {@link InventoryPdfCache}, and the time spent rendering them. Failed renders
+ * are only visible in the timing of the service operation that asked for the PDF.
+ */
+@Component
+public class InventoryPdfMetrics {
+
+    static final String BYTES = "platform.inventario.pdf.bytes";
+    static final String PRODUCTOS = "platform.inventario.pdf.productos";
+    static final String RENDERIZADO = "platform.inventario.pdf.renderizado";
+
+    private final MeterRegistry meterRegistry;
+    private final EmpresaTag empresaTag;
+
+    public InventoryPdfMetrics(MeterRegistry meterRegistry, EmpresaTag empresaTag) {
+        this.meterRegistry = meterRegistry;
+        this.empresaTag = empresaTag;
+    }
+
+    public Timer.Sample iniciarRenderizado() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void renderizado(String empresaNit, Timer.Sample inicio, long bytes, int productos) {
+        inicio.stop(Timer.builder(RENDERIZADO)
+                .description("Tiempo de renderizado de los PDF de inventario")
+                .tag(EmpresaTag.NOMBRE, empresaTag.valor(empresaNit))
+                .register(meterRegistry));
+        resumen(BYTES, "bytes", "renderizado", empresaNit).record(bytes);
+        resumen(PRODUCTOS, "productos", "renderizado", empresaNit).record(productos);
+    }
+
+    public void desdeCache(String empresaNit, long bytes) {
+        resumen(BYTES, "bytes", "cache", empresaNit).record(bytes);
+    }
+
+    private DistributionSummary resumen(String nombre, String unidad, String origen, String empresaNit) {
+        return DistributionSummary.builder(nombre)
+                .baseUnit(unidad)
+                .tag("origen", origen)
+                .tag(EmpresaTag.NOMBRE, empresaTag.valor(empresaNit))
+                .register(meterRegistry);
+    }
+}
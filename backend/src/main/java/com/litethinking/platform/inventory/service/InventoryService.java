@@ -2,57 +2,162 @@ package com.litethinking.platform.inventory.service;
 
 import com.litethinking.platform.catalog.domain.Empresa;
 import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.dto.RevisionCatalogo;
 import com.litethinking.platform.catalog.repository.EmpresaRepository;
 import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.catalog.service.CatalogoVersionService;
 import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.common.persistence.ChunkedStreams;
+import com.litethinking.platform.inventory.domain.InventoryEmailJob;
+import com.litethinking.platform.inventory.dto.InventoryEmailJobResponse;
 import com.litethinking.platform.inventory.report.InventoryPdfGenerator;
+import com.litethinking.platform.inventory.report.InventoryPdfWriter;
+import com.litethinking.platform.inventory.repository.InventoryEmailJobRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class InventoryService {
 
+    private static final int PDF_CHUNK_SIZE = 100;
+
     private final EmpresaRepository empresaRepository;
     private final ProductoRepository productoRepository;
     private final InventoryPdfGenerator pdfGenerator;
     private final MailService mailService;
     private final DocumentStorageService documentStorageService;
+    private final InventoryEmailJobRepository jobRepository;
+    private final EntityManager entityManager;
+    private final CatalogoVersionService catalogoVersionService;
+    private final InventoryPdfCache pdfCache;
+    private final InventoryPdfMetrics pdfMetrics;
 
     public InventoryService(EmpresaRepository empresaRepository,
                             ProductoRepository productoRepository,
                             InventoryPdfGenerator pdfGenerator,
                             MailService mailService,
-                            DocumentStorageService documentStorageService) {
+                            DocumentStorageService documentStorageService,
+                            InventoryEmailJobRepository jobRepository,
+                            EntityManager entityManager,
+                            CatalogoVersionService catalogoVersionService,
+                            InventoryPdfCache pdfCache,
+                            InventoryPdfMetrics pdfMetrics) {
         this.empresaRepository = empresaRepository;
         this.productoRepository = productoRepository;
         this.pdfGenerator = pdfGenerator;
         this.mailService = mailService;
         this.documentStorageService = documentStorageService;
+        this.jobRepository = jobRepository;
+        this.entityManager = entityManager;
+        this.catalogoVersionService = catalogoVersionService;
+        this.pdfCache = pdfCache;
+        this.pdfMetrics = pdfMetrics;
     }
 
     @Transactional(readOnly = true)
-    public byte[] generarPdf(String empresaNit) {
-        Empresa empresa = obtenerEmpresa(empresaNit);
-        List<Producto> productos = productoRepository.findByEmpresaNit(empresaNit);
-        return pdfGenerator.build(empresa, productos);
+    public Pdf generarPdf(String empresaNit) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        RevisionCatalogo revision;
+        try {
+            revision = escribir(empresaNit, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // A catalog that never changed has no revision yet; a fresh one keeps it from matching a PDF
+        // stored by another database.
+        return new Pdf(revision.version(),
+                revision.revision() != null ? revision.revision() : UUID.randomUUID(), output.toByteArray());
+    }
+
+    /**
+     * Serves the cached PDF for the current catalog version, or renders it from a product cursor chunk by
+     * chunk (memory does not grow with the catalog) and caches the result when it is small enough.
+     */
+    @Transactional(readOnly = true)
+    public void escribirPdf(String empresaNit, OutputStream output) throws IOException {
+        escribir(empresaNit, output);
+    }
+
+    /**
+     * Validates the empresa and returns a validator for its current inventory PDF.
+     */
+    @Transactional(readOnly = true)
+    public String etagPdf(String empresaNit) {
+        obtenerEmpresa(empresaNit);
+        return "W/\"inventory-" + empresaNit + "-" + catalogoVersionService.obtener(empresaNit) + "\"";
+    }
+
+    @Transactional
+    public InventoryEmailJobResponse enviarInventario(String empresaNit, String correoDestino) {
+        obtenerEmpresa(empresaNit);
+        InventoryEmailJob job = jobRepository.save(new InventoryEmailJob(empresaNit, correoDestino));
+        return InventoryEmailJobResponse.from(job);
     }
 
     @Transactional(readOnly = true)
-    public void enviarInventario(String empresaNit, String correoDestino) {
+    public InventoryEmailJobResponse obtenerEnvio(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .map(InventoryEmailJobResponse::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Envio de inventario no encontrado"));
+    }
+
+    // Called by InventoryEmailWorker outside any transaction so storage and mail I/O never hold a connection.
+    public String entregarInventario(String empresaNit, String correoDestino, Pdf pdf) {
         Empresa empresa = obtenerEmpresa(empresaNit);
-        byte[] pdf = generarPdf(empresaNit);
-        String storageLocation = documentStorageService.storeInventoryPdf(empresaNit, pdf);
+        String storageLocation = documentStorageService.storeInventoryPdf(
+                empresaNit, pdf.version(), pdf.revision(), pdf.content());
         String subject = "Inventario " + empresa.getNombre();
         String body = storageLocation != null
                 ? "Adjunto encontraras el inventario actualizado. Copia de respaldo: " + storageLocation
                 : "Adjunto encontraras el inventario actualizado.";
-        mailService.sendInventoryEmail(correoDestino, subject, body, pdf);
+        mailService.sendInventoryEmail(correoDestino, subject, body, pdf.content());
+        return storageLocation;
+    }
+
+    // Returns the catalog revision the written content was rendered from.
+    private RevisionCatalogo escribir(String empresaNit, OutputStream output) throws IOException {
+        // Read the version before the products: the rendered content is then at least as new as its version.
+        RevisionCatalogo revision = catalogoVersionService.revision(empresaNit);
+        long version = revision.version();
+        Optional<byte[]> cached = pdfCache.get(empresaNit, version);
+        if (cached.isPresent()) {
+            output.write(cached.get());
+            pdfMetrics.desdeCache(empresaNit, cached.get().length);
+            return revision;
+        }
+
+        Empresa empresa = obtenerEmpresa(empresaNit);
+        InventoryPdfCache.Capture capture = pdfCache.capture(output);
+        Timer.Sample inicio = pdfMetrics.iniciarRenderizado();
+        int escritos;
+        try (Stream<Producto> productos = productoRepository.streamByEmpresaNit(empresaNit);
+             InventoryPdfWriter writer = pdfGenerator.open(empresa, capture)) {
+            ChunkedStreams.forEachChunk(productos, PDF_CHUNK_SIZE, entityManager, writer::write);
+            escritos = writer.productos();
+        }
+        pdfMetrics.renderizado(empresaNit, inicio, capture.bytes(), escritos);
+        capture.captured().ifPresent(pdf -> pdfCache.put(empresaNit, version, pdf));
+        return revision;
     }
 
     private Empresa obtenerEmpresa(String nit) {
         return empresaRepository.findById(nit)
                 .orElseThrow(() -> new ResourceNotFoundException("Empresa no encontrada"));
     }
+
+    /**
+     * A rendered inventory PDF and the catalog version and revision it was rendered from.
+     */
+    public record Pdf(long version, UUID revision, byte[] content) {
+    }
 }
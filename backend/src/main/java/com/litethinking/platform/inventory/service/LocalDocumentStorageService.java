@@ -9,6 +9,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.UUID;
 
 @Service
 public class LocalDocumentStorageService implements DocumentStorageService {
@@ -17,11 +18,16 @@ public class LocalDocumentStorageService implements DocumentStorageService {
     private static final String OUTPUT_DIR = System.getProperty("java.io.tmpdir") + File.separator + "inventories";
 
     @Override
-    public String storeInventoryPdf(String empresaNit, byte[] pdfContent) {
+    public String storeInventoryPdf(String empresaNit, long catalogVersion, UUID catalogRevision, byte[] pdfContent) {
         try {
             Path directory = Path.of(OUTPUT_DIR);
             Files.createDirectories(directory);
-            Path pdfPath = directory.resolve("inventory-" + empresaNit + ".pdf");
+            Path pdfPath = directory.resolve(
+                    "inventory-" + empresaNit + "-v" + catalogVersion + "-" + catalogRevision + ".pdf");
+            if (Files.exists(pdfPath)) {
+                log.info("PDF de inventario sin cambios, se reutiliza {}", pdfPath);
+                return pdfPath.toAbsolutePath().toString();
+            }
             try (FileOutputStream fos = new FileOutputStream(pdfPath.toFile())) {
                 fos.write(pdfContent);
             }
@@ -0,0 +1,20 @@
+package com.litethinking.platform.inventory.service;
+
+import java.time.Duration;
+
+/**
+ * Exponential backoff for inventory email jobs; each {@link MailService} provider can tune it.
+ */
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, double multiplier, Duration maxBackoff) {
+
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, Duration.ofSeconds(30), 2.0, Duration.ofMinutes(10));
+
+    public boolean canRetry(int attempts) {
+        return attempts < maxAttempts;
+    }
+
+    public Duration backoff(int attempts) {
+        double millis = initialBackoff.toMillis() * Math.pow(multiplier, Math.max(0, attempts - 1));
+        return millis >= maxBackoff.toMillis() ? maxBackoff : Duration.ofMillis((long) millis);
+    }
+}
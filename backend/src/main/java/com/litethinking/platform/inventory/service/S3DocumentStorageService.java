@@ -8,9 +8,12 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
-import java.time.Instant;
+import java.util.UUID;
 
 @Service
 @Primary
@@ -31,16 +34,34 @@ public class S3DocumentStorageService implements DocumentStorageService {
     }
 
     @Override
-    public String storeInventoryPdf(String empresaNit, byte[] pdfContent) {
-        String key = "inventories/" + empresaNit + "/inventory-" + Instant.now().toEpochMilli() + ".pdf";
+    public String storeInventoryPdf(String empresaNit, long catalogVersion, UUID catalogRevision, byte[] pdfContent) {
+        String key = "inventories/" + empresaNit + "/inventory-v" + catalogVersion + "-" + catalogRevision + ".pdf";
+        String objectUrl = "s3://" + bucketName + "/" + key;
+        if (exists(key)) {
+            log.info("PDF de inventario sin cambios, se reutiliza {}", objectUrl);
+            return objectUrl;
+        }
         PutObjectRequest request = PutObjectRequest.builder()
                 .bucket(bucketName)
                 .key(key)
                 .contentType("application/pdf")
                 .build();
         s3Client.putObject(request, RequestBody.fromBytes(pdfContent));
-        String objectUrl = "s3://" + bucketName + "/" + key;
         log.info("PDF de inventario almacenado en S3 {}", objectUrl);
         return objectUrl;
     }
+
+    private boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
 }
@@ -15,6 +15,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Base64;
 
 @Service
@@ -22,6 +23,7 @@ import java.util.Base64;
 public class SendGridMailService implements MailService {
 
     private static final Logger log = LoggerFactory.getLogger(SendGridMailService.class);
+    private static final RetryPolicy RETRY_POLICY = new RetryPolicy(5, Duration.ofSeconds(30), 2.0, Duration.ofMinutes(15));
 
     private final SendGrid sendGrid;
     private final String sender;
@@ -64,4 +66,9 @@ public class SendGridMailService implements MailService {
             throw new IllegalStateException("Error al enviar correo via SendGrid", e);
         }
     }
+
+    @Override
+    public RetryPolicy retryPolicy() {
+        return RETRY_POLICY;
+    }
 }
@@ -21,6 +21,7 @@ import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
 import jakarta.mail.util.ByteArrayDataSource;
 import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.util.Properties;
 
 @Service
@@ -29,6 +30,7 @@ import java.util.Properties;
 public class SesMailService implements MailService {
 
     private static final Logger log = LoggerFactory.getLogger(SesMailService.class);
+    private static final RetryPolicy RETRY_POLICY = new RetryPolicy(5, Duration.ofSeconds(10), 3.0, Duration.ofMinutes(15));
 
     private final SesClient sesClient;
     private final String sender;
@@ -81,4 +83,9 @@ public class SesMailService implements MailService {
         message.setContent(multipart);
         return message;
     }
+
+    @Override
+    public RetryPolicy retryPolicy() {
+        return RETRY_POLICY;
+    }
 }
@@ -1,5 +1,6 @@
 package com.litethinking.platform.orders.controller;
 
+import com.litethinking.platform.common.api.CursorPage;
 import com.litethinking.platform.orders.dto.ClienteRequest;
 import com.litethinking.platform.orders.dto.ClienteResponse;
 import com.litethinking.platform.orders.service.ClienteService;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -39,6 +41,13 @@ public class ClienteController {
         return ResponseEntity.ok(clienteService.listar());
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<CursorPage<ClienteResponse>> listarPagina(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(clienteService.listarPagina(cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ClienteResponse> obtener(@PathVariable UUID id) {
         return ResponseEntity.ok(clienteService.obtener(id));
@@ -1,20 +1,35 @@
 package com.litethinking.platform.orders.controller;
 
+import com.litethinking.platform.common.api.CursorPage;
+import com.litethinking.platform.orders.domain.AgrupacionVentas;
+import com.litethinking.platform.orders.domain.NivelVentas;
 import com.litethinking.platform.orders.dto.OrdenRequest;
 import com.litethinking.platform.orders.dto.OrdenResponse;
+import com.litethinking.platform.orders.dto.OrdenResumen;
+import com.litethinking.platform.orders.dto.VentasResponse;
+import com.litethinking.platform.orders.service.OrdenExportService;
+import com.litethinking.platform.orders.service.OrdenIdempotenciaService;
 import com.litethinking.platform.orders.service.OrdenService;
+import com.litethinking.platform.orders.service.VentasService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,16 +37,37 @@ import java.util.UUID;
 @RequestMapping("/api/ordenes")
 public class OrdenController {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final OrdenService ordenService;
+    private final OrdenIdempotenciaService ordenIdempotenciaService;
+    private final OrdenExportService ordenExportService;
+    private final VentasService ventasService;
 
-    public OrdenController(OrdenService ordenService) {
+    public OrdenController(OrdenService ordenService,
+                           OrdenIdempotenciaService ordenIdempotenciaService,
+                           OrdenExportService ordenExportService,
+                           VentasService ventasService) {
         this.ordenService = ordenService;
+        this.ordenIdempotenciaService = ordenIdempotenciaService;
+        this.ordenExportService = ordenExportService;
+        this.ventasService = ventasService;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
-    public ResponseEntity<OrdenResponse> crear(@Valid @RequestBody OrdenRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(ordenService.crear(request));
+    public ResponseEntity<OrdenResponse> crear(@Valid @RequestBody OrdenRequest request,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                               Principal principal) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(ordenService.crear(request));
+        }
+        OrdenIdempotenciaService.Resultado resultado =
+                ordenIdempotenciaService.crear(request, principal.getName(), idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(resultado.repetida()))
+                .body(resultado.orden());
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -40,6 +76,45 @@ public class OrdenController {
         return ResponseEntity.ok(ordenService.listarPorEmpresa(empresaNit));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/pagina")
+    public ResponseEntity<CursorPage<OrdenResponse>> listarPaginaPorEmpresa(
+            @RequestParam("empresaNit") String empresaNit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(ordenService.listarPaginaPorEmpresa(empresaNit, cursor, size));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/resumen")
+    public ResponseEntity<CursorPage<OrdenResumen>> listarResumenPorEmpresa(
+            @RequestParam("empresaNit") String empresaNit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(ordenService.listarResumenPorEmpresa(empresaNit, cursor, size));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/analytics")
+    public ResponseEntity<VentasResponse> analytics(
+            @RequestParam("empresaNit") String empresaNit,
+            @RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(value = "agrupacion", defaultValue = "DIA") AgrupacionVentas agrupacion,
+            @RequestParam(value = "nivel", defaultValue = "EMPRESA") NivelVentas nivel) {
+        return ResponseEntity.ok(ventasService.consultar(empresaNit, desde, hasta, agrupacion, nivel));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam("empresaNit") String empresaNit) {
+        StreamingResponseBody body = output -> ordenExportService.exportarPorEmpresa(empresaNit, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=ordenes-" + empresaNit + ".ndjson")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/{id}")
     public ResponseEntity<OrdenResponse> obtener(@PathVariable UUID id) {
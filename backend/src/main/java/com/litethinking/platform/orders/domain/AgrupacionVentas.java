@@ -0,0 +1,7 @@
+package com.litethinking.platform.orders.domain;
+
+public enum AgrupacionVentas {
+    DIA,
+    MES,
+    TOTAL
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.Table;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
 
@@ -36,7 +37,12 @@ public class Cliente {
 
     public Cliente(String nombre, String correo) {
         this.nombre = nombre;
-        this.correo = correo;
+        this.correo = normalizarCorreo(correo);
+    }
+
+    /** Correos are unique regardless of case; the V7 check constraint enforces the stored form. */
+    public static String normalizarCorreo(String correo) {
+        return correo == null ? null : correo.trim().toLowerCase(Locale.ROOT);
     }
 
     public UUID getId() {
@@ -0,0 +1,6 @@
+package com.litethinking.platform.orders.domain;
+
+public enum NivelVentas {
+    EMPRESA,
+    PRODUCTO
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -15,13 +16,17 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import org.hibernate.annotations.UuidGenerator;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "ordenes")
+@Table(name = "ordenes", indexes = {
+        @Index(name = "idx_ordenes_empresa_fecha", columnList = "empresa_nit, fecha, id"),
+        @Index(name = "idx_ordenes_cliente", columnList = "cliente_id")
+})
 public class Orden {
 
     @Id
@@ -40,6 +45,13 @@ public class Orden {
     @JoinColumn(name = "empresa_nit")
     private Empresa empresa;
 
+    // Derived from the items when they are set, so listings can read them without loading the lines.
+    @Column(nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
     @OneToMany(mappedBy = "orden", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<OrdenItem> items = new LinkedHashSet<>();
 
@@ -74,6 +86,14 @@ public class Orden {
         return empresa;
     }
 
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
     public Set<OrdenItem> getItems() {
         return items;
     }
@@ -82,5 +102,9 @@ public class Orden {
         this.items.clear();
         this.items.addAll(nuevos);
         this.items.forEach(item -> item.setOrden(this));
+        this.total = items.stream()
+                .map(OrdenItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.itemCount = items.size();
     }
 }
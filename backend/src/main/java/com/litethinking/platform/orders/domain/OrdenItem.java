@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,7 +17,10 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orden_items")
+@Table(name = "orden_items", indexes = {
+        @Index(name = "idx_orden_items_orden", columnList = "orden_id"),
+        @Index(name = "idx_orden_items_producto", columnList = "producto_id")
+})
 public class OrdenItem {
 
     @Id
@@ -38,6 +42,9 @@ public class OrdenItem {
     @Column(nullable = false)
     private BigDecimal precioUnitario;
 
+    @Column(nullable = false)
+    private BigDecimal subtotal;
+
     protected OrdenItem() {
     }
 
@@ -45,6 +52,7 @@ public class OrdenItem {
         this.producto = producto;
         this.cantidad = cantidad;
         this.precioUnitario = precioUnitario;
+        this.subtotal = precioUnitario.multiply(BigDecimal.valueOf(cantidad));
     }
 
     public UUID getId() {
@@ -67,6 +75,10 @@ public class OrdenItem {
         return precioUnitario;
     }
 
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
     public void setOrden(Orden orden) {
         this.orden = orden;
     }
@@ -0,0 +1,16 @@
+package com.litethinking.platform.orders.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record OrdenResumen(
+        UUID id,
+        Instant fecha,
+        String empresaNit,
+        String clienteNombre,
+        String clienteCorreo,
+        int itemCount,
+        BigDecimal total
+) {
+}
@@ -0,0 +1,28 @@
+package com.litethinking.platform.orders.dto;
+
+import com.litethinking.platform.orders.domain.AgrupacionVentas;
+import com.litethinking.platform.orders.domain.NivelVentas;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record VentasResponse(
+        String empresaNit,
+        LocalDate desde,
+        LocalDate hasta,
+        AgrupacionVentas agrupacion,
+        NivelVentas nivel,
+        List<Fila> filas
+) {
+    public record Fila(
+            LocalDate periodo,
+            UUID productoId,
+            String productoNombre,
+            long ordenes,
+            long unidades,
+            BigDecimal ingresos
+    ) {
+    }
+}
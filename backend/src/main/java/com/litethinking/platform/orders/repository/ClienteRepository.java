@@ -1,11 +1,25 @@
 package com.litethinking.platform.orders.repository;
 
 import com.litethinking.platform.orders.domain.Cliente;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface ClienteRepository extends JpaRepository<Cliente, UUID> {
+public interface ClienteRepository extends JpaRepository<Cliente, UUID>, ClienteUpsertRepository {
     Optional<Cliente> findByCorreo(String correo);
+
+    @Query("select c from Cliente c order by c.correo, c.id")
+    List<Cliente> findPage(Pageable pageable);
+
+    @Query("""
+            select c from Cliente c
+            where c.correo > :correo or (c.correo = :correo and c.id > :id)
+            order by c.correo, c.id
+            """)
+    List<Cliente> findPageAfter(@Param("correo") String correo, @Param("id") UUID id, Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.litethinking.platform.orders.repository;
+
+import java.util.UUID;
+
+/**
+ * Single-statement create-or-rename of a client keyed on its correo, safe under concurrent orders
+ * from the same new customer.
+ */
+public interface ClienteUpsertRepository {
+
+    /**
+     * Inserts the client, or renames the existing one when {@code nombre} differs; an unchanged name
+     * writes nothing. {@code correo} must already be normalized. Returns the client's id.
+     */
+    UUID upsert(String nombre, String correo);
+}
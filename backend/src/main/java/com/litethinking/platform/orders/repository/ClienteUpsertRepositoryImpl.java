@@ -0,0 +1,71 @@
+package com.litethinking.platform.orders.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL gets {@code insert ... on conflict (correo) do update}, which never raises on a concurrent
+ * insert of the same correo. The insert and the lookup share one statement: the CTE returns the id
+ * when it inserted or renamed, the select when the row already existed with the same name. H2 has no
+ * {@code on conflict do update}, so it runs a {@code merge} and retries once if a concurrent insert
+ * won the race.
+ */
+class ClienteUpsertRepositoryImpl implements ClienteUpsertRepository {
+
+    private static final String UPSERT_POSTGRES = """
+            with escrito as (
+                insert into clientes (id, nombre, correo) values (?, ?, ?)
+                on conflict (correo) do update set nombre = excluded.nombre
+                where clientes.nombre <> excluded.nombre
+                returning id
+            )
+            select id from escrito
+            union all
+            select id from clientes where correo = ?
+            limit 1
+            """;
+    private static final String MERGE = """
+            merge into clientes c
+            using (values (cast(? as uuid), cast(? as varchar(255)), cast(? as varchar(255)))) v (id, nombre, correo)
+            on c.correo = v.correo
+            when matched and c.nombre <> v.nombre then update set nombre = v.nombre
+            when not matched then insert (id, nombre, correo) values (v.id, v.nombre, v.correo)
+            """;
+    private static final String BUSCAR = "select id from clientes where correo = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    ClienteUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public UUID upsert(String nombre, String correo) {
+        if (esPostgres()) {
+            List<UUID> ids = jdbcTemplate.queryForList(UPSERT_POSTGRES, UUID.class, UUID.randomUUID(), nombre, correo, correo);
+            // Empty only when a concurrent insert committed after this statement's snapshot was taken.
+            return ids.isEmpty() ? jdbcTemplate.queryForObject(BUSCAR, UUID.class, correo) : ids.get(0);
+        }
+        try {
+            jdbcTemplate.update(MERGE, UUID.randomUUID(), nombre, correo);
+        } catch (DuplicateKeyException ex) {
+            jdbcTemplate.update(MERGE, UUID.randomUUID(), nombre, correo);
+        }
+        return jdbcTemplate.queryForObject(BUSCAR, UUID.class, correo);
+    }
+
+    private boolean esPostgres() {
+        Boolean actual = postgres;
+        if (actual == null) {
+            actual = jdbcTemplate.execute((ConnectionCallback<Boolean>) conexion ->
+                    "PostgreSQL".equals(conexion.getMetaData().getDatabaseProductName()));
+            postgres = actual;
+        }
+        return actual;
+    }
+}
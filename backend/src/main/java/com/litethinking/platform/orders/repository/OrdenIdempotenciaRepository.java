@@ -0,0 +1,66 @@
+package com.litethinking.platform.orders.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys of order creation. A key is reserved with an insert-if-absent in the same transaction
+ * that creates the order, so a concurrent request with the same key either waits for that transaction
+ * and sees the stored response, or finds nothing to replay if it rolled back.
+ */
+@Repository
+public class OrdenIdempotenciaRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrdenIdempotenciaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<Registro> buscar(String usuario, String clave, Instant ahora) {
+        return jdbcTemplate.query("""
+                        select huella, respuesta
+                        from ordenes_idempotencia
+                        where usuario = ? and clave = ? and expira_en > ?
+                        """,
+                (rs, rowNum) -> new Registro(rs.getString("huella"), rs.getString("respuesta")),
+                usuario, clave, utc(ahora)).stream().findFirst();
+    }
+
+    /**
+     * Returns {@code false} when a live entry for the key already exists. An expired entry is dropped
+     * first, so the key can be reused once its TTL is over even if the purge has not run yet.
+     */
+    public boolean reservar(String usuario, String clave, String huella, Instant ahora, Instant expiraEn) {
+        jdbcTemplate.update("delete from ordenes_idempotencia where usuario = ? and clave = ? and expira_en <= ?",
+                usuario, clave, utc(ahora));
+        return jdbcTemplate.update("""
+                insert into ordenes_idempotencia (usuario, clave, huella, creado_en, expira_en)
+                values (?, ?, ?, ?, ?)
+                on conflict do nothing
+                """, usuario, clave, huella, utc(ahora), utc(expiraEn)) == 1;
+    }
+
+    public void completar(String usuario, String clave, UUID ordenId, String respuesta) {
+        jdbcTemplate.update("update ordenes_idempotencia set orden_id = ?, respuesta = ? where usuario = ? and clave = ?",
+                ordenId, respuesta, usuario, clave);
+    }
+
+    public int purgar(Instant ahora) {
+        return jdbcTemplate.update("delete from ordenes_idempotencia where expira_en <= ?", utc(ahora));
+    }
+
+    private static OffsetDateTime utc(Instant instante) {
+        return OffsetDateTime.ofInstant(instante, ZoneOffset.UTC);
+    }
+
+    /** {@code respuesta} is null only while the request that reserved the key is still running. */
+    public record Registro(String huella, String respuesta) {
+    }
+}
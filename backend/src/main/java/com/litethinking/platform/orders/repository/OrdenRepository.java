@@ -1,14 +1,70 @@
 package com.litethinking.platform.orders.repository;
 
 import com.litethinking.platform.orders.domain.Orden;
+import com.litethinking.platform.orders.dto.OrdenResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface OrdenRepository extends JpaRepository<Orden, UUID> {
 
     @EntityGraph(attributePaths = {"cliente", "items", "items.producto", "empresa"})
     List<Orden> findByEmpresaNit(String empresaNit);
+
+    @Query("""
+            select o from Orden o join fetch o.cliente
+            where o.empresa.nit = :empresaNit
+            order by o.fecha desc, o.id desc
+            """)
+    List<Orden> findPageByEmpresaNit(@Param("empresaNit") String empresaNit, Pageable pageable);
+
+    @Query("""
+            select o from Orden o join fetch o.cliente
+            where o.empresa.nit = :empresaNit
+              and (o.fecha < :fecha or (o.fecha = :fecha and o.id < :id))
+            order by o.fecha desc, o.id desc
+            """)
+    List<Orden> findPageByEmpresaNitBefore(@Param("empresaNit") String empresaNit,
+                                           @Param("fecha") Instant fecha,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
+
+    @Query("""
+            select new com.litethinking.platform.orders.dto.OrdenResumen(
+                o.id, o.fecha, o.empresa.nit, c.nombre, c.correo, o.itemCount, o.total)
+            from Orden o join o.cliente c
+            where o.empresa.nit = :empresaNit
+            order by o.fecha desc, o.id desc
+            """)
+    List<OrdenResumen> findResumenPageByEmpresaNit(@Param("empresaNit") String empresaNit, Pageable pageable);
+
+    @Query("""
+            select new com.litethinking.platform.orders.dto.OrdenResumen(
+                o.id, o.fecha, o.empresa.nit, c.nombre, c.correo, o.itemCount, o.total)
+            from Orden o join o.cliente c
+            where o.empresa.nit = :empresaNit
+              and (o.fecha < :fecha or (o.fecha = :fecha and o.id < :id))
+            order by o.fecha desc, o.id desc
+            """)
+    List<OrdenResumen> findResumenPageByEmpresaNitBefore(@Param("empresaNit") String empresaNit,
+                                                         @Param("fecha") Instant fecha,
+                                                         @Param("id") UUID id,
+                                                         Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Orden o join fetch o.cliente where o.empresa.nit = :empresaNit order by o.fecha, o.id")
+    Stream<Orden> streamByEmpresaNit(@Param("empresaNit") String empresaNit);
 }
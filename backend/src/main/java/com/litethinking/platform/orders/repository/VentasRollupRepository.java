@@ -0,0 +1,127 @@
+package com.litethinking.platform.orders.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Daily sales rollups per empresa and per producto. Increments are sent as JDBC batches: an update
+ * per row, and only for the rows that did not exist yet an insert-if-absent followed by the update
+ * again, which keeps concurrent first orders of the day from losing counts.
+ */
+@Repository
+public class VentasRollupRepository {
+
+    private static final String SUMAR_EMPRESA = """
+            update ventas_diarias_empresa
+            set ordenes = ordenes + ?, unidades = unidades + ?, ingresos = ingresos + ?
+            where empresa_nit = ? and dia = ?
+            """;
+    private static final String CREAR_EMPRESA = """
+            insert into ventas_diarias_empresa (empresa_nit, dia, ordenes, unidades, ingresos)
+            values (?, ?, 0, 0, 0)
+            on conflict do nothing
+            """;
+    private static final String SUMAR_PRODUCTO = """
+            update ventas_diarias_producto
+            set ordenes = ordenes + ?, unidades = unidades + ?, ingresos = ingresos + ?
+            where empresa_nit = ? and dia = ? and producto_id = ?
+            """;
+    private static final String CREAR_PRODUCTO = """
+            insert into ventas_diarias_producto (empresa_nit, dia, producto_id, ordenes, unidades, ingresos)
+            values (?, ?, ?, 0, 0, 0)
+            on conflict do nothing
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VentasRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void sumarEmpresa(Incremento incremento) {
+        sumar(SUMAR_EMPRESA, CREAR_EMPRESA, List.of(incremento),
+                inc -> new Object[]{inc.empresaNit(), inc.dia()});
+    }
+
+    public void sumarProductos(List<Incremento> incrementos) {
+        sumar(SUMAR_PRODUCTO, CREAR_PRODUCTO, incrementos,
+                inc -> new Object[]{inc.empresaNit(), inc.dia(), inc.productoId()});
+    }
+
+    public List<Fila> findPorEmpresa(String empresaNit, LocalDate desde, LocalDate hasta) {
+        return jdbcTemplate.query("""
+                        select dia, ordenes, unidades, ingresos
+                        from ventas_diarias_empresa
+                        where empresa_nit = ? and dia between ? and ?
+                        order by dia
+                        """,
+                (rs, rowNum) -> new Fila(rs.getObject("dia", LocalDate.class), null, null,
+                        rs.getLong("ordenes"), rs.getLong("unidades"), rs.getBigDecimal("ingresos")),
+                empresaNit, desde, hasta);
+    }
+
+    public List<Fila> findPorProducto(String empresaNit, LocalDate desde, LocalDate hasta) {
+        return jdbcTemplate.query("""
+                        select v.dia, v.producto_id, p.nombre, v.ordenes, v.unidades, v.ingresos
+                        from ventas_diarias_producto v
+                        left join productos p on p.id = v.producto_id
+                        where v.empresa_nit = ? and v.dia between ? and ?
+                        order by v.dia, v.producto_id
+                        """,
+                (rs, rowNum) -> new Fila(rs.getObject("dia", LocalDate.class), rs.getObject("producto_id", UUID.class),
+                        rs.getString("nombre"), rs.getLong("ordenes"), rs.getLong("unidades"), rs.getBigDecimal("ingresos")),
+                empresaNit, desde, hasta);
+    }
+
+    private void sumar(String sumar, String crear, List<Incremento> incrementos, Function<Incremento, Object[]> clave) {
+        int[] filas = jdbcTemplate.batchUpdate(sumar, incrementos.stream().map(inc -> argumentos(inc, clave)).toList());
+        List<Incremento> nuevos = new ArrayList<>();
+        for (int i = 0; i < filas.length; i++) {
+            if (filas[i] == 0) {
+                nuevos.add(incrementos.get(i));
+            }
+        }
+        if (nuevos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(crear, nuevos.stream().map(clave).toList());
+        jdbcTemplate.batchUpdate(sumar, nuevos.stream().map(inc -> argumentos(inc, clave)).toList());
+    }
+
+    private static Object[] argumentos(Incremento incremento, Function<Incremento, Object[]> clave) {
+        Object[] key = clave.apply(incremento);
+        Object[] args = new Object[3 + key.length];
+        args[0] = incremento.ordenes();
+        args[1] = incremento.unidades();
+        args[2] = incremento.ingresos();
+        System.arraycopy(key, 0, args, 3, key.length);
+        return args;
+    }
+
+    public record Incremento(
+            String empresaNit,
+            LocalDate dia,
+            UUID productoId,
+            long ordenes,
+            long unidades,
+            BigDecimal ingresos
+    ) {
+    }
+
+    public record Fila(
+            LocalDate dia,
+            UUID productoId,
+            String productoNombre,
+            long ordenes,
+            long unidades,
+            BigDecimal ingresos
+    ) {
+    }
+}
@@ -4,6 +4,8 @@ import com.litethinking.platform.orders.domain.Cliente;
 import com.litethinking.platform.orders.dto.ClienteRequest;
 import com.litethinking.platform.orders.dto.ClienteResponse;
 import com.litethinking.platform.orders.repository.ClienteRepository;
+import com.litethinking.platform.common.api.Cursor;
+import com.litethinking.platform.common.api.CursorPage;
 import com.litethinking.platform.common.exception.ResourceAlreadyExistsException;
 import com.litethinking.platform.common.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
@@ -23,7 +25,7 @@ public class ClienteService {
 
     @Transactional
     public ClienteResponse crear(ClienteRequest request) {
-        clienteRepository.findByCorreo(request.correo()).ifPresent(existing -> {
+        clienteRepository.findByCorreo(Cliente.normalizarCorreo(request.correo())).ifPresent(existing -> {
             throw new ResourceAlreadyExistsException("El cliente ya existe");
         });
 
@@ -39,6 +41,21 @@ public class ClienteService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ClienteResponse> listarPagina(String cursor, int size) {
+        int pageSize = CursorPage.normalizeSize(size);
+        List<Cliente> clientes;
+        if (cursor == null || cursor.isBlank()) {
+            clientes = clienteRepository.findPage(CursorPage.window(pageSize));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            clientes = clienteRepository.findPageAfter(after.key(), after.id(), CursorPage.window(pageSize));
+        }
+        return CursorPage.of(clientes, pageSize,
+                cliente -> new Cursor(cliente.getCorreo(), cliente.getId()),
+                this::toResponse);
+    }
+
     @Transactional
     public ClienteResponse actualizar(UUID id, ClienteRequest request) {
         Cliente cliente = clienteRepository.findById(id)
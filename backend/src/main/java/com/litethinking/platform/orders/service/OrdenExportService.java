@@ -0,0 +1,49 @@
+package com.litethinking.platform.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.litethinking.platform.common.persistence.ChunkedStreams;
+import com.litethinking.platform.orders.domain.Orden;
+import com.litethinking.platform.orders.dto.OrdenResponse;
+import com.litethinking.platform.orders.repository.OrdenRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+@Service
+public class OrdenExportService {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final OrdenRepository ordenRepository;
+    private final OrdenService ordenService;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public OrdenExportService(OrdenRepository ordenRepository,
+                              OrdenService ordenService,
+                              EntityManager entityManager,
+                              ObjectMapper objectMapper) {
+        this.ordenRepository = ordenRepository;
+        this.ordenService = ordenService;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(OrdenResponse.class);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarPorEmpresa(String empresaNit, OutputStream output) throws IOException {
+        try (Stream<Orden> ordenes = ordenRepository.streamByEmpresaNit(empresaNit)) {
+            return ChunkedStreams.forEachChunk(ordenes, CHUNK_SIZE, entityManager, chunk -> {
+                for (Orden orden : chunk) {
+                    output.write(writer.writeValueAsBytes(ordenService.toResponse(orden)));
+                    output.write('\n');
+                }
+                output.flush();
+            });
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.litethinking.platform.orders.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.litethinking.platform.common.exception.ResourceAlreadyExistsException;
+import com.litethinking.platform.orders.dto.OrdenRequest;
+import com.litethinking.platform.orders.dto.OrdenResponse;
+import com.litethinking.platform.orders.repository.OrdenIdempotenciaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Order creation under an {@code Idempotency-Key}. A retry with a key that already produced an order
+ * gets the stored {@link OrdenResponse} back after a single lookup, without opening a write transaction.
+ * Otherwise the key is reserved in the transaction that creates the order: a failed creation rolls the
+ * reservation back with it, so only successful responses are replayed.
+ */
+@Service
+public class OrdenIdempotenciaService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrdenIdempotenciaService.class);
+
+    static final int LONGITUD_MAXIMA = 255;
+    private static final String EN_CURSO = "Hay otra solicitud en curso con la misma Idempotency-Key";
+
+    private final OrdenService ordenService;
+    private final OrdenIdempotenciaRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public OrdenIdempotenciaService(OrdenService ordenService,
+                                    OrdenIdempotenciaRepository repository,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${ordenes.idempotencia.ttl:24h}") Duration ttl) {
+        this(ordenService, repository, objectMapper, transactionManager, ttl, Clock.systemUTC());
+    }
+
+    OrdenIdempotenciaService(OrdenService ordenService,
+                             OrdenIdempotenciaRepository repository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             Duration ttl,
+                             Clock clock) {
+        this.ordenService = ordenService;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public Resultado crear(OrdenRequest request, String usuario, String clave) {
+        if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("La Idempotency-Key debe tener entre 1 y " + LONGITUD_MAXIMA + " caracteres");
+        }
+        String huella = huella(request);
+        Instant ahora = clock.instant();
+        Optional<OrdenIdempotenciaRepository.Registro> previo = repository.buscar(usuario, clave, ahora);
+        if (previo.isPresent()) {
+            return repetir(previo.get(), huella);
+        }
+        return transactionTemplate.execute(status -> {
+            if (!repository.reservar(usuario, clave, huella, ahora, ahora.plus(ttl))) {
+                // A concurrent request with the same key got the reservation first.
+                return repository.buscar(usuario, clave, ahora)
+                        .map(registro -> repetir(registro, huella))
+                        .orElseThrow(() -> new ResourceAlreadyExistsException(EN_CURSO));
+            }
+            OrdenResponse respuesta = ordenService.crear(request);
+            repository.completar(usuario, clave, respuesta.id(), escribir(respuesta));
+            return new Resultado(respuesta, false);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${ordenes.idempotencia.purge-interval-ms:600000}")
+    public void purgar() {
+        int eliminadas = repository.purgar(clock.instant());
+        if (eliminadas > 0) {
+            log.info("Claves de idempotencia vencidas eliminadas: {}", eliminadas);
+        }
+    }
+
+    private Resultado repetir(OrdenIdempotenciaRepository.Registro registro, String huella) {
+        if (!registro.huella().equals(huella)) {
+            throw new IllegalArgumentException("La Idempotency-Key ya se uso con una solicitud distinta");
+        }
+        if (registro.respuesta() == null) {
+            throw new ResourceAlreadyExistsException(EN_CURSO);
+        }
+        try {
+            return new Resultado(objectMapper.readValue(registro.respuesta(), OrdenResponse.class), true);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Respuesta almacenada ilegible", ex);
+        }
+    }
+
+    private String escribir(OrdenResponse respuesta) {
+        try {
+            return objectMapper.writeValueAsString(respuesta);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar la orden", ex);
+        }
+    }
+
+    private String huella(OrdenRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo calcular la huella de la solicitud", ex);
+        }
+    }
+
+    /** {@code repetida} is true when the response comes from the store rather than a new order. */
+    public record Resultado(OrdenResponse orden, boolean repetida) {
+    }
+}
@@ -2,8 +2,11 @@ package com.litethinking.platform.orders.service;
 
 import com.litethinking.platform.catalog.domain.Empresa;
 import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.dto.ProductoReferencia;
 import com.litethinking.platform.catalog.repository.EmpresaRepository;
 import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.common.api.Cursor;
+import com.litethinking.platform.common.api.CursorPage;
 import com.litethinking.platform.common.exception.ResourceNotFoundException;
 import com.litethinking.platform.orders.domain.Cliente;
 import com.litethinking.platform.orders.domain.Orden;
@@ -12,16 +15,21 @@ import com.litethinking.platform.orders.dto.ClienteResponse;
 import com.litethinking.platform.orders.dto.OrdenItemRequest;
 import com.litethinking.platform.orders.dto.OrdenRequest;
 import com.litethinking.platform.orders.dto.OrdenResponse;
+import com.litethinking.platform.orders.dto.OrdenResumen;
 import com.litethinking.platform.orders.repository.ClienteRepository;
 import com.litethinking.platform.orders.repository.OrdenRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrdenService {
@@ -30,15 +38,18 @@ public class OrdenService {
     private final ClienteRepository clienteRepository;
     private final EmpresaRepository empresaRepository;
     private final ProductoRepository productoRepository;
+    private final VentasService ventasService;
 
     public OrdenService(OrdenRepository ordenRepository,
                         ClienteRepository clienteRepository,
                         EmpresaRepository empresaRepository,
-                        ProductoRepository productoRepository) {
+                        ProductoRepository productoRepository,
+                        VentasService ventasService) {
         this.ordenRepository = ordenRepository;
         this.clienteRepository = clienteRepository;
         this.empresaRepository = empresaRepository;
         this.productoRepository = productoRepository;
+        this.ventasService = ventasService;
     }
 
     @Transactional
@@ -46,19 +57,22 @@ public class OrdenService {
         Empresa empresa = empresaRepository.findById(request.empresaNit())
                 .orElseThrow(() -> new ResourceNotFoundException("Empresa no encontrada"));
 
-        Cliente cliente = clienteRepository.findByCorreo(request.clienteCorreo())
-                .map(existing -> {
-                    existing.update(request.clienteNombre());
-                    return existing;
-                })
-                .orElseGet(() -> clienteRepository.save(new Cliente(request.clienteNombre(), request.clienteCorreo())));
+        // One upsert instead of select-then-insert, so concurrent first orders of a customer cannot collide;
+        // the response is built from the request, which is what the row now holds.
+        String correo = Cliente.normalizarCorreo(request.clienteCorreo());
+        UUID clienteId = clienteRepository.upsert(request.clienteNombre(), correo);
+        Cliente cliente = clienteRepository.getReferenceById(clienteId);
+        ClienteResponse clienteResponse = new ClienteResponse(clienteId, request.clienteNombre(), correo);
+
+        Map<UUID, ProductoReferencia> productos = resolveProductos(request.items(), empresa.getNit());
 
         Orden orden = new Orden(cliente, empresa);
-        Set<OrdenItem> items = mapItems(request.items(), empresa.getNit());
+        Set<OrdenItem> items = mapItems(request.items());
         orden.replaceItems(items);
 
         Orden saved = ordenRepository.save(orden);
-        return toResponse(saved);
+        ventasService.registrar(saved);
+        return toResponse(saved, clienteResponse, item -> productos.get(item.getProducto().getId()).nombre());
     }
 
     @Transactional(readOnly = true)
@@ -68,6 +82,38 @@ public class OrdenService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<OrdenResponse> listarPaginaPorEmpresa(String empresaNit, String cursor, int size) {
+        int pageSize = CursorPage.normalizeSize(size);
+        List<Orden> ordenes;
+        if (cursor == null || cursor.isBlank()) {
+            ordenes = ordenRepository.findPageByEmpresaNit(empresaNit, CursorPage.window(pageSize));
+        } else {
+            Cursor before = Cursor.decode(cursor);
+            ordenes = ordenRepository.findPageByEmpresaNitBefore(
+                    empresaNit, parseFecha(before.key()), before.id(), CursorPage.window(pageSize));
+        }
+        return CursorPage.of(ordenes, pageSize,
+                orden -> new Cursor(orden.getFecha().toString(), orden.getId()),
+                this::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrdenResumen> listarResumenPorEmpresa(String empresaNit, String cursor, int size) {
+        int pageSize = CursorPage.normalizeSize(size);
+        List<OrdenResumen> resumenes;
+        if (cursor == null || cursor.isBlank()) {
+            resumenes = ordenRepository.findResumenPageByEmpresaNit(empresaNit, CursorPage.window(pageSize));
+        } else {
+            Cursor before = Cursor.decode(cursor);
+            resumenes = ordenRepository.findResumenPageByEmpresaNitBefore(
+                    empresaNit, parseFecha(before.key()), before.id(), CursorPage.window(pageSize));
+        }
+        return CursorPage.of(resumenes, pageSize,
+                resumen -> new Cursor(resumen.fecha().toString(), resumen.id()),
+                Function.identity());
+    }
+
     @Transactional(readOnly = true)
     public OrdenResponse obtener(UUID id) {
         Orden orden = ordenRepository.findById(id)
@@ -75,40 +121,58 @@ public class OrdenService {
         return toResponse(orden);
     }
 
-    private Set<OrdenItem> mapItems(List<OrdenItemRequest> itemsRequest, String empresaNit) {
+    private Map<UUID, ProductoReferencia> resolveProductos(List<OrdenItemRequest> itemsRequest, String empresaNit) {
+        Set<UUID> ids = itemsRequest.stream()
+                .map(OrdenItemRequest::productoId)
+                .collect(Collectors.toSet());
+
+        Map<UUID, ProductoReferencia> productos = productoRepository.findReferenciasByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductoReferencia::id, Function.identity()));
+        if (productos.size() != ids.size()) {
+            throw new ResourceNotFoundException("Producto no encontrado");
+        }
+        if (productos.values().stream().anyMatch(producto -> !producto.empresaNit().equals(empresaNit))) {
+            throw new IllegalArgumentException("El producto no pertenece a la empresa seleccionada");
+        }
+        return productos;
+    }
+
+    private Set<OrdenItem> mapItems(List<OrdenItemRequest> itemsRequest) {
         Set<OrdenItem> items = new HashSet<>();
         for (OrdenItemRequest itemRequest : itemsRequest) {
-            Producto producto = productoRepository.findById(itemRequest.productoId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
-            if (!producto.getEmpresa().getNit().equals(empresaNit)) {
-                throw new IllegalArgumentException("El producto no pertenece a la empresa seleccionada");
-            }
+            // Ownership was already validated in bulk, a reference is enough to link the line item.
+            Producto producto = productoRepository.getReferenceById(itemRequest.productoId());
             OrdenItem item = new OrdenItem(producto, itemRequest.cantidad(), itemRequest.precioUnitario());
             items.add(item);
         }
         return items;
     }
 
-    private OrdenResponse toResponse(Orden orden) {
-        List<OrdenResponse.Item> items = orden.getItems().stream()
-                .map(item -> {
-                    BigDecimal subtotal = item.getPrecioUnitario().multiply(BigDecimal.valueOf(item.getCantidad()));
-                    return new OrdenResponse.Item(
-                            item.getProducto().getId(),
-                            item.getProducto().getNombre(),
-                            item.getCantidad(),
-                            item.getPrecioUnitario(),
-                            subtotal
-                    );
-                })
-                .toList();
-
-        BigDecimal total = items.stream()
-                .map(OrdenResponse.Item::subtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Instant parseFecha(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor invalido", ex);
+        }
+    }
 
+    OrdenResponse toResponse(Orden orden) {
         Cliente cliente = orden.getCliente();
-        ClienteResponse clienteResponse = new ClienteResponse(cliente.getId(), cliente.getNombre(), cliente.getCorreo());
+        return toResponse(orden, new ClienteResponse(cliente.getId(), cliente.getNombre(), cliente.getCorreo()),
+                item -> item.getProducto().getNombre());
+    }
+
+    private OrdenResponse toResponse(Orden orden, ClienteResponse clienteResponse,
+                                     Function<OrdenItem, String> nombreProducto) {
+        List<OrdenResponse.Item> items = orden.getItems().stream()
+                .map(item -> new OrdenResponse.Item(
+                        item.getProducto().getId(),
+                        nombreProducto.apply(item),
+                        item.getCantidad(),
+                        item.getPrecioUnitario(),
+                        item.getSubtotal()
+                ))
+                .toList();
 
         return new OrdenResponse(
                 orden.getId(),
@@ -116,7 +180,7 @@ public class OrdenService {
                 orden.getEmpresa().getNit(),
                 clienteResponse,
                 items,
-                total
+                orden.getTotal()
         );
     }
 }
@@ -0,0 +1,109 @@
+package com.litethinking.platform.orders.service;
+
+import com.litethinking.platform.orders.domain.AgrupacionVentas;
+import com.litethinking.platform.orders.domain.NivelVentas;
+import com.litethinking.platform.orders.domain.Orden;
+import com.litethinking.platform.orders.domain.OrdenItem;
+import com.litethinking.platform.orders.dto.VentasResponse;
+import com.litethinking.platform.orders.repository.VentasRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the daily sales rollups up to date and answers analytics from them, so a query only reads
+ * one row per day (and producto) in the requested range, whatever the size of the order history.
+ */
+@Service
+public class VentasService {
+
+    private final VentasRollupRepository rollupRepository;
+    private final ZoneId zonaHoraria;
+
+    public VentasService(VentasRollupRepository rollupRepository,
+                         @Value("${ventas.zona-horaria:America/Bogota}") String zonaHoraria) {
+        this.rollupRepository = rollupRepository;
+        this.zonaHoraria = ZoneId.of(zonaHoraria);
+    }
+
+    // Runs in the transaction that creates the order, so the rollups never drift from the orders.
+    @Transactional
+    public void registrar(Orden orden) {
+        String empresaNit = orden.getEmpresa().getNit();
+        LocalDate dia = LocalDate.ofInstant(orden.getFecha(), zonaHoraria);
+
+        Map<UUID, long[]> unidades = new LinkedHashMap<>();
+        Map<UUID, BigDecimal> ingresos = new LinkedHashMap<>();
+        long totalUnidades = 0;
+        for (OrdenItem item : orden.getItems()) {
+            UUID productoId = item.getProducto().getId();
+            unidades.computeIfAbsent(productoId, id -> new long[1])[0] += item.getCantidad();
+            ingresos.merge(productoId, item.getSubtotal(), BigDecimal::add);
+            totalUnidades += item.getCantidad();
+        }
+
+        rollupRepository.sumarEmpresa(new VentasRollupRepository.Incremento(
+                empresaNit, dia, null, 1, totalUnidades, orden.getTotal()));
+        List<VentasRollupRepository.Incremento> porProducto = new ArrayList<>();
+        unidades.forEach((productoId, cantidad) -> porProducto.add(new VentasRollupRepository.Incremento(
+                empresaNit, dia, productoId, 1, cantidad[0], ingresos.get(productoId))));
+        rollupRepository.sumarProductos(porProducto);
+    }
+
+    @Transactional(readOnly = true)
+    public VentasResponse consultar(String empresaNit, LocalDate desde, LocalDate hasta,
+                                    AgrupacionVentas agrupacion, NivelVentas nivel) {
+        LocalDate fin = hasta != null ? hasta : LocalDate.now(zonaHoraria);
+        LocalDate inicio = desde != null ? desde : fin.minusDays(29);
+        if (inicio.isAfter(fin)) {
+            throw new IllegalArgumentException("La fecha inicial debe ser anterior o igual a la final");
+        }
+
+        List<VentasRollupRepository.Fila> diarias = nivel == NivelVentas.PRODUCTO
+                ? rollupRepository.findPorProducto(empresaNit, inicio, fin)
+                : rollupRepository.findPorEmpresa(empresaNit, inicio, fin);
+
+        Map<Clave, VentasResponse.Fila> filas = new LinkedHashMap<>();
+        for (VentasRollupRepository.Fila diaria : diarias) {
+            LocalDate periodo = switch (agrupacion) {
+                case DIA -> diaria.dia();
+                case MES -> diaria.dia().withDayOfMonth(1);
+                case TOTAL -> inicio;
+            };
+            filas.merge(new Clave(periodo, diaria.productoId()),
+                    new VentasResponse.Fila(periodo, diaria.productoId(), diaria.productoNombre(),
+                            diaria.ordenes(), diaria.unidades(), diaria.ingresos()),
+                    VentasService::sumar);
+        }
+
+        List<VentasResponse.Fila> resultado = filas.values().stream()
+                .sorted(Comparator.comparing(VentasResponse.Fila::periodo)
+                        .thenComparing(VentasResponse.Fila::ingresos, Comparator.reverseOrder()))
+                .toList();
+        return new VentasResponse(empresaNit, inicio, fin, agrupacion, nivel, resultado);
+    }
+
+    private record Clave(LocalDate periodo, UUID productoId) {
+    }
+
+    private static VentasResponse.Fila sumar(VentasResponse.Fila a, VentasResponse.Fila b) {
+        return new VentasResponse.Fila(
+                a.periodo(),
+                a.productoId(),
+                a.productoNombre() != null ? a.productoNombre() : b.productoNombre(),
+                a.ordenes() + b.ordenes(),
+                a.unidades() + b.unidades(),
+                a.ingresos().add(b.ingresos())
+        );
+    }
+}
@@ -0,0 +1,79 @@
+-- Schema as previously created by hibernate ddl-auto=update. Databases created that way are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table empresas (
+    nit varchar(20) not null,
+    direccion varchar(255) not null,
+    nombre varchar(255) not null,
+    telefono varchar(255) not null,
+    primary key (nit)
+);
+
+create table categorias (
+    id uuid not null,
+    nombre varchar(255) not null unique,
+    primary key (id)
+);
+
+create table productos (
+    id uuid not null,
+    empresa_nit varchar(20) not null,
+    caracteristicas text,
+    codigo varchar(255) not null,
+    nombre varchar(255) not null,
+    primary key (id),
+    constraint fk_productos_empresa foreign key (empresa_nit) references empresas (nit)
+);
+
+create table producto_precios (
+    id uuid not null,
+    producto_id uuid not null,
+    moneda varchar(3) not null,
+    valor numeric(38,2) not null,
+    primary key (id),
+    constraint fk_producto_precios_producto foreign key (producto_id) references productos (id)
+);
+
+create table producto_categoria (
+    categoria_id uuid not null,
+    producto_id uuid not null,
+    primary key (categoria_id, producto_id),
+    constraint fk_producto_categoria_categoria foreign key (categoria_id) references categorias (id),
+    constraint fk_producto_categoria_producto foreign key (producto_id) references productos (id)
+);
+
+create table clientes (
+    id uuid not null,
+    correo varchar(255) not null unique,
+    nombre varchar(255) not null,
+    primary key (id)
+);
+
+create table ordenes (
+    id uuid not null,
+    empresa_nit varchar(20) not null,
+    cliente_id uuid not null,
+    fecha timestamp(6) with time zone not null,
+    primary key (id),
+    constraint fk_ordenes_empresa foreign key (empresa_nit) references empresas (nit),
+    constraint fk_ordenes_cliente foreign key (cliente_id) references clientes (id)
+);
+
+create table orden_items (
+    id uuid not null,
+    orden_id uuid not null,
+    producto_id uuid not null,
+    cantidad integer not null,
+    precio_unitario numeric(38,2) not null,
+    primary key (id),
+    constraint fk_orden_items_orden foreign key (orden_id) references ordenes (id),
+    constraint fk_orden_items_producto foreign key (producto_id) references productos (id)
+);
+
+create table usuarios (
+    id uuid not null,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    role varchar(20) not null check (role in ('ADMIN', 'VIEWER')),
+    primary key (id)
+);
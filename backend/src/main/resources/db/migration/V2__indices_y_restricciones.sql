@@ -0,0 +1,12 @@
+-- Indexes for the tenant-scoped finders and the uniqueness rules the services used to check only
+-- in application code.
+
+alter table productos add constraint uk_productos_empresa_codigo unique (empresa_nit, codigo);
+
+create index if not exists idx_producto_precios_producto on producto_precios (producto_id);
+create index if not exists idx_producto_categoria_producto on producto_categoria (producto_id);
+
+create index if not exists idx_ordenes_empresa_fecha on ordenes (empresa_nit, fecha, id);
+create index if not exists idx_ordenes_cliente on ordenes (cliente_id);
+create index if not exists idx_orden_items_orden on orden_items (orden_id);
+create index if not exists idx_orden_items_producto on orden_items (producto_id);
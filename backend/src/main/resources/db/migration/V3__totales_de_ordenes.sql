@@ -0,0 +1,13 @@
+-- Order totals are stored when the order is created instead of being recomputed on every read.
+
+alter table orden_items add column subtotal numeric(38,2);
+update orden_items set subtotal = precio_unitario * cantidad;
+alter table orden_items alter column subtotal set not null;
+
+alter table ordenes add column total numeric(38,2);
+alter table ordenes add column item_count integer;
+update ordenes o set
+    total = coalesce((select sum(i.subtotal) from orden_items i where i.orden_id = o.id), 0),
+    item_count = (select count(*) from orden_items i where i.orden_id = o.id);
+alter table ordenes alter column total set not null;
+alter table ordenes alter column item_count set not null;
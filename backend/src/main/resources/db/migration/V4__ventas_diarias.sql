@@ -0,0 +1,33 @@
+-- Daily sales rollups maintained by OrdenService.crear; the analytics endpoint reads only these.
+-- Days are calendar days in ventas.zona-horaria.
+
+create table ventas_diarias_empresa (
+    empresa_nit varchar(20) not null,
+    dia date not null,
+    ordenes bigint not null,
+    unidades bigint not null,
+    ingresos numeric(38,2) not null,
+    primary key (empresa_nit, dia)
+);
+
+create table ventas_diarias_producto (
+    empresa_nit varchar(20) not null,
+    dia date not null,
+    producto_id uuid not null,
+    ordenes bigint not null,
+    unidades bigint not null,
+    ingresos numeric(38,2) not null,
+    primary key (empresa_nit, dia, producto_id)
+);
+
+insert into ventas_diarias_empresa (empresa_nit, dia, ordenes, unidades, ingresos)
+select o.empresa_nit, cast(o.fecha at time zone '${zona_horaria}' as date), count(distinct o.id), sum(i.cantidad), sum(i.subtotal)
+from ordenes o
+join orden_items i on i.orden_id = o.id
+group by o.empresa_nit, cast(o.fecha at time zone '${zona_horaria}' as date);
+
+insert into ventas_diarias_producto (empresa_nit, dia, producto_id, ordenes, unidades, ingresos)
+select o.empresa_nit, cast(o.fecha at time zone '${zona_horaria}' as date), i.producto_id, count(distinct o.id), sum(i.cantidad), sum(i.subtotal)
+from ordenes o
+join orden_items i on i.orden_id = o.id
+group by o.empresa_nit, cast(o.fecha at time zone '${zona_horaria}' as date), i.producto_id;
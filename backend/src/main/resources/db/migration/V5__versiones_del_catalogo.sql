@@ -0,0 +1,8 @@
+-- Optimistic-lock versions and modification times for empresas and productos; the catalog read
+-- endpoints derive their ETag and Last-Modified validators from them.
+
+alter table empresas add column version bigint not null default 0;
+alter table empresas add column actualizado_en timestamp(6) with time zone not null default current_timestamp;
+
+alter table productos add column version bigint not null default 0;
+alter table productos add column actualizado_en timestamp(6) with time zone not null default current_timestamp;
@@ -0,0 +1,15 @@
+-- Idempotency-Key store for POST /api/ordenes. A key is scoped to the user that sent it and keeps the
+-- serialized OrdenResponse until expira_en; the primary key turns concurrent duplicates into conflicts.
+
+create table ordenes_idempotencia (
+    usuario varchar(255) not null,
+    clave varchar(255) not null,
+    huella varchar(64) not null,
+    orden_id uuid,
+    respuesta text,
+    creado_en timestamp(6) with time zone not null,
+    expira_en timestamp(6) with time zone not null,
+    primary key (usuario, clave)
+);
+
+create index idx_ordenes_idempotencia_expira on ordenes_idempotencia (expira_en);
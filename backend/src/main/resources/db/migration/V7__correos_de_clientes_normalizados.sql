@@ -0,0 +1,30 @@
+-- Client emails are stored trimmed and lower-cased, which makes the unique constraint on clientes.correo
+-- case-insensitive and lets the order path upsert on it. Clients that differed only in case are merged
+-- into the one with the smallest correo before normalizing.
+
+update ordenes set cliente_id = (
+    select d.id
+    from clientes c
+    join clientes d on lower(trim(d.correo)) = lower(trim(c.correo))
+    where c.id = ordenes.cliente_id
+    order by d.correo
+    limit 1
+)
+-- Only orders of the clients merged away below, so the other orders are neither rewritten nor locked.
+where cliente_id in (
+    select c.id from clientes c
+    where exists (
+        select 1 from clientes d
+        where lower(trim(d.correo)) = lower(trim(c.correo)) and d.correo < c.correo
+    )
+);
+
+delete from clientes c
+where exists (
+    select 1 from clientes d
+    where lower(trim(d.correo)) = lower(trim(c.correo)) and d.correo < c.correo
+);
+
+update clientes set correo = lower(trim(correo)) where correo <> lower(trim(correo));
+
+alter table clientes add constraint ck_clientes_correo_normalizado check (correo = lower(trim(correo)));
@@ -0,0 +1,26 @@
+-- Tables added after the ddl-auto schema captured in V1. Databases baselined at version 1 do not have
+-- them; ones that ran the intermediate builds under ddl-auto may already have them, hence "if not exists".
+
+create table if not exists catalogo_versiones (
+    empresa_nit varchar(20) not null,
+    version bigint not null,
+    actualizado_en timestamp(6) with time zone not null,
+    primary key (empresa_nit)
+);
+
+create table if not exists inventory_email_jobs (
+    id uuid not null,
+    empresa_nit varchar(20) not null,
+    email_destino varchar(255) not null,
+    status varchar(20) not null check (status in ('PENDING', 'PROCESSING', 'SENT', 'FAILED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    locked_until timestamp(6) with time zone,
+    storage_location varchar(255),
+    last_error varchar(1000),
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index if not exists idx_inventory_email_jobs_status_next on inventory_email_jobs (status, next_attempt_at);
@@ -0,0 +1,4 @@
+-- A random id replaced on every catalog change. The version counter alone restarts after the database
+-- is recreated or restored, so artifacts stored outside it (inventory PDFs) are named after the revision.
+
+alter table catalogo_versiones add column revision uuid not null default gen_random_uuid();
@@ -2,10 +2,12 @@ package com.litethinking.platform.auth.service;
 
 import com.litethinking.platform.auth.domain.UserAccount;
 import com.litethinking.platform.auth.domain.UserRole;
+import com.litethinking.platform.common.exception.InvalidTokenException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtServiceTest {
 
@@ -37,4 +39,29 @@ class JwtServiceTest {
 
         assertThat(jwtService.isValid(tampered)).isFalse();
     }
+
+    @Test
+    void verifyShouldReturnClaimsAndServeRepeatedTokensFromCache() {
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertThat(first.subject()).isEqualTo("user@litethinking.com");
+        assertThat(first.role()).isEqualTo("VIEWER");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verifyShouldRejectTamperedAndExpiredTokens() {
+        String tampered = jwtService.generateToken(user).replaceFirst("\\.", ".invalid.");
+        String expired = new JwtService("super-secret-key-that-is-long-enough-123", -1).generateToken(user);
+
+        assertThatThrownBy(() -> jwtService.verify(tampered))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Token invalido");
+        assertThatThrownBy(() -> jwtService.verify(expired))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Token expirado");
+    }
 }
@@ -0,0 +1,52 @@
+package com.litethinking.platform.auth.service;
+
+import com.litethinking.platform.auth.domain.UserAccount;
+import com.litethinking.platform.auth.domain.UserRole;
+import com.litethinking.platform.auth.repository.UserAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserAccountServiceTest {
+
+    @Mock
+    private UserAccountRepository repository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PrincipalCache principalCache;
+    private UserAccountService service;
+    private UserAccount user;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5));
+        service = new UserAccountService(repository, passwordEncoder, principalCache);
+        user = new UserAccount("viewer@litethinking.com", "hash", UserRole.VIEWER);
+        userId = UUID.randomUUID();
+        principalCache.putUserInCache(User.withUsername(user.getEmail()).password("hash").roles("VIEWER").build());
+        when(repository.findById(userId)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void updateRoleDebeInvalidarPrincipalEnCache() {
+        service.updateRole(userId, UserRole.ADMIN);
+
+        assertThat(user.getRole()).isEqualTo(UserRole.ADMIN);
+        assertThat(principalCache.getUserFromCache(user.getEmail())).isNull();
+    }
+}
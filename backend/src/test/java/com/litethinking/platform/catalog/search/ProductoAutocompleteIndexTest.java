@@ -0,0 +1,98 @@
+package com.litethinking.platform.catalog.search;
+
+import com.litethinking.platform.catalog.domain.EmpresaEliminada;
+import com.litethinking.platform.catalog.domain.ProductoCambio;
+import com.litethinking.platform.catalog.dto.ProductoSummary;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductoAutocompleteIndexTest {
+
+    private static final String NIT = "900100200";
+
+    private final ProductoRepository productoRepository = mock(ProductoRepository.class);
+    private final ProductoAutocompleteIndex index = new ProductoAutocompleteIndex();
+    private final ProductoIndexador indexador = new ProductoIndexador(productoRepository, List.of(index));
+
+    @Test
+    void autocompletarDebeUbicarCoincidenciasDeCodigoAntesQueDeNombre() {
+        cargar(
+                texto("LAP-02", "Laptop gamer"),
+                texto("MON-01", "Monitor para laptop"),
+                texto("LAP-01", "Laptop"),
+                texto("TEC-01", "Teclado")
+        );
+
+        assertThat(codigos(index.autocompletar(NIT, "lap", 10))).containsExactly("LAP-01", "LAP-02", "MON-01");
+        assertThat(codigos(index.autocompletar(NIT, "Laptop g", 10))).containsExactly("LAP-02");
+        assertThat(codigos(index.autocompletar(NIT, "mon", 10))).containsExactly("MON-01");
+        assertThat(codigos(index.autocompletar(NIT, "lap", 2))).containsExactly("LAP-01", "LAP-02");
+        assertThat(index.autocompletar(NIT, "  ", 10)).isEmpty();
+    }
+
+    @Test
+    void autocompletarDebeIgnorarTildesYMayusculas() {
+        cargar(texto("CAM-01", "Camión"), texto("CAF-01", "Café"));
+
+        assertThat(codigos(index.autocompletar(NIT, "CAMI", 10))).containsExactly("CAM-01");
+        assertThat(codigos(index.autocompletar(NIT, "café", 10))).containsExactly("CAF-01");
+        assertThat(codigos(index.autocompletar("otra", "cam", 10))).isEmpty();
+    }
+
+    @Test
+    void aplicarDebeReflejarCambiosYBorrados() {
+        ProductoTexto producto = texto("LAP-01", "Laptop");
+        cargar();
+
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, producto));
+        assertThat(codigos(index.autocompletar(NIT, "lap", 10))).containsExactly("LAP-01");
+
+        ProductoTexto editado = new ProductoTexto(producto.id(), NIT, "LAP-01", "Portatil", null);
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, editado));
+        assertThat(index.autocompletar(NIT, "laptop", 10)).isEmpty();
+        assertThat(index.autocompletar(NIT, "port", 10)).extracting(ProductoSummary::nombre).containsExactly("Portatil");
+
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.ELIMINADO, editado));
+        assertThat(index.autocompletar(NIT, "lap", 10)).isEmpty();
+
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, producto));
+        indexador.aplicar(new EmpresaEliminada(NIT));
+        assertThat(index.autocompletar(NIT, "lap", 10)).isEmpty();
+    }
+
+    @Test
+    void autocompletarDebeCortarEnElLimiteSobreUnCatalogoGrande() {
+        cargar(IntStream.range(0, 50_000)
+                .mapToObj(i -> texto("SKU-" + i, "Producto modelo " + i))
+                .toArray(ProductoTexto[]::new));
+
+        assertThat(index.autocompletar(NIT, "sku-4999", 10)).extracting(ProductoSummary::codigo)
+                .containsExactly("SKU-4999", "SKU-49990", "SKU-49991", "SKU-49992", "SKU-49993",
+                        "SKU-49994", "SKU-49995", "SKU-49996", "SKU-49997", "SKU-49998");
+        assertThat(index.autocompletar(NIT, "modelo 4999", 3)).extracting(ProductoSummary::codigo)
+                .containsExactly("SKU-4999", "SKU-49990", "SKU-49991");
+    }
+
+    private void cargar(ProductoTexto... productos) {
+        when(productoRepository.streamTextos()).thenReturn(Arrays.stream(productos));
+        indexador.reconstruir();
+    }
+
+    private static ProductoTexto texto(String codigo, String nombre) {
+        return new ProductoTexto(UUID.randomUUID(), NIT, codigo, nombre, null);
+    }
+
+    private static List<String> codigos(List<ProductoSummary> resultados) {
+        return resultados.stream().map(ProductoSummary::codigo).toList();
+    }
+}
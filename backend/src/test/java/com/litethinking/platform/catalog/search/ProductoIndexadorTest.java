@@ -0,0 +1,74 @@
+package com.litethinking.platform.catalog.search;
+
+import com.litethinking.platform.catalog.domain.EmpresaEliminada;
+import com.litethinking.platform.catalog.domain.ProductoCambio;
+import com.litethinking.platform.catalog.dto.ProductoSummary;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductoIndexadorTest {
+
+    private static final String NIT = "900100200";
+
+    private final ProductoRepository productoRepository = mock(ProductoRepository.class);
+    private final ProductoSearchIndex busqueda = new ProductoSearchIndex();
+    private final ProductoAutocompleteIndex autocompletado = new ProductoAutocompleteIndex();
+    private final ProductoIndexador indexador = new ProductoIndexador(productoRepository, List.of(busqueda, autocompletado));
+
+    @Test
+    void reconstruirDebeAlimentarTodosLosIndicesDesdeUnSoloRecorrido() {
+        when(productoRepository.streamTextos()).thenReturn(Stream.of(texto(NIT, "LAP-01", "Laptop")));
+
+        indexador.reconstruir();
+
+        assertThat(busqueda.buscar(NIT, "laptop", 10)).hasSize(1);
+        assertThat(autocompletado.autocompletar(NIT, "lap", 10)).extracting(ProductoSummary::codigo).containsExactly("LAP-01");
+    }
+
+    @Test
+    void cambiosConfirmadosDuranteLaReconstruccionNoDebenPerderse() {
+        ProductoTexto borrado = texto(NIT, "MON-01", "Monitor");
+        ProductoTexto creado = texto(NIT, "TEC-01", "Teclado");
+        ProductoTexto deOtraEmpresa = texto("800", "CAM-01", "Camara");
+        // The scan still returns the deleted product and misses the new one, as a snapshot taken
+        // before those commits would.
+        when(productoRepository.streamTextos()).thenReturn(Stream.of(borrado, deOtraEmpresa).peek(producto -> {
+            if (producto == deOtraEmpresa) {
+                indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.ELIMINADO, borrado));
+                indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, creado));
+                indexador.aplicar(new EmpresaEliminada("800"));
+            }
+        }));
+
+        indexador.reconstruir();
+
+        assertThat(busqueda.buscar(NIT, "monitor", 10)).isEmpty();
+        assertThat(autocompletado.autocompletar(NIT, "mon", 10)).isEmpty();
+        assertThat(busqueda.buscar(NIT, "teclado", 10)).hasSize(1);
+        assertThat(autocompletado.autocompletar(NIT, "tec", 10)).hasSize(1);
+        assertThat(busqueda.buscar("800", "camara", 10)).isEmpty();
+    }
+
+    @Test
+    void despuesDeLaReconstruccionLosCambiosSeAplicanDirectamente() {
+        when(productoRepository.streamTextos()).thenReturn(Stream.empty());
+        indexador.reconstruir();
+
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, texto(NIT, "LAP-01", "Laptop")));
+
+        assertThat(autocompletado.autocompletar(NIT, "lap", 10)).hasSize(1);
+    }
+
+    private static ProductoTexto texto(String nit, String codigo, String nombre) {
+        return new ProductoTexto(UUID.randomUUID(), nit, codigo, nombre, null);
+    }
+}
@@ -0,0 +1,122 @@
+package com.litethinking.platform.catalog.search;
+
+import com.litethinking.platform.catalog.domain.EmpresaEliminada;
+import com.litethinking.platform.catalog.domain.ProductoCambio;
+import com.litethinking.platform.catalog.dto.ProductoBusquedaResponse;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductoSearchIndexTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoSearchIndexTest.class);
+    private static final String NIT = "900100200";
+
+    private final ProductoRepository productoRepository = mock(ProductoRepository.class);
+    private final ProductoSearchIndex index = new ProductoSearchIndex();
+    private final ProductoIndexador indexador = new ProductoIndexador(productoRepository, List.of(index));
+
+    @Test
+    void buscarDebeIgnorarTildesMayusculasYPlurales() {
+        ProductoTexto camion = texto("CAM-01", "Camión de juguete", "Ruedas de caucho");
+        cargar(camion, texto("LAP-01", "Laptop", "16 GB RAM"));
+
+        assertThat(nombres(index.buscar(NIT, "camion", 10))).containsExactly("Camión de juguete");
+        assertThat(nombres(index.buscar(NIT, "CAMIONES", 10))).containsExactly("Camión de juguete");
+        assertThat(nombres(index.buscar(NIT, "rueda", 10))).containsExactly("Camión de juguete");
+        assertThat(index.buscar(NIT, "de la", 10)).isEmpty();
+    }
+
+    @Test
+    void buscarDebePriorizarCoincidenciasEnElNombre() {
+        cargar(
+                texto("ACC-01", "Cable HDMI", "Compatible con monitor 4K"),
+                texto("MON-01", "Monitor 27 pulgadas", "Panel IPS"),
+                texto("TEC-01", "Teclado", "Mecanico")
+        );
+
+        List<ProductoBusquedaResponse.Resultado> resultados = index.buscar(NIT, "monitores", 10);
+
+        assertThat(nombres(resultados)).containsExactly("Monitor 27 pulgadas", "Cable HDMI");
+        assertThat(resultados.get(0).puntaje()).isGreaterThan(resultados.get(1).puntaje());
+    }
+
+    @Test
+    void buscarDebeAislarLosProductosDeCadaEmpresa() {
+        cargar(texto("LAP-01", "Laptop", null), new ProductoTexto(UUID.randomUUID(), "800", "LAP-02", "Laptop gamer", null));
+
+        assertThat(nombres(index.buscar(NIT, "laptop", 10))).containsExactly("Laptop");
+        assertThat(nombres(index.buscar("800", "laptop", 10))).containsExactly("Laptop gamer");
+        assertThat(index.buscar("otra", "laptop", 10)).isEmpty();
+    }
+
+    @Test
+    void aplicarDebeActualizarYQuitarProductos() {
+        ProductoTexto producto = texto("LAP-01", "Laptop", "16 GB RAM");
+        cargar();
+
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, producto));
+        assertThat(nombres(index.buscar(NIT, "ram", 10))).containsExactly("Laptop");
+
+        ProductoTexto editado = new ProductoTexto(producto.id(), NIT, "LAP-01", "Portatil", "32 GB DDR5");
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, editado));
+        assertThat(index.buscar(NIT, "laptop", 10)).isEmpty();
+        assertThat(index.buscar(NIT, "ram", 10)).isEmpty();
+        assertThat(nombres(index.buscar(NIT, "ddr5", 10))).containsExactly("Portatil");
+
+        indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.ELIMINADO, editado));
+        assertThat(index.buscar(NIT, "portatil", 10)).isEmpty();
+    }
+
+    @Test
+    void aplicarEmpresaEliminadaDebeVaciarSuIndice() {
+        cargar(texto("LAP-01", "Laptop", null));
+
+        indexador.aplicar(new EmpresaEliminada(NIT));
+
+        assertThat(index.buscar(NIT, "laptop", 10)).isEmpty();
+    }
+
+    @Test
+    void buscarDebeRespetarElLimiteSobreUnCatalogoGrande() {
+        List<ProductoTexto> productos = new ArrayList<>();
+        IntStream.range(0, 20_000).forEach(i -> productos.add(texto(
+                "SKU-" + i,
+                (i % 10 == 0 ? "Monitor " : "Teclado ") + i,
+                "Modelo " + (i % 500) + " color " + (i % 2 == 0 ? "negro" : "blanco"))));
+        cargar(productos.toArray(ProductoTexto[]::new));
+
+        long start = System.nanoTime();
+        List<ProductoBusquedaResponse.Resultado> resultados = index.buscar(NIT, "monitor negro", 20);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        log.info("buscar productos={} resultados={} latency={}us", productos.size(), resultados.size(), elapsedMicros);
+
+        assertThat(resultados).hasSize(20);
+        assertThat(resultados).allSatisfy(resultado -> assertThat(resultado.nombre()).startsWith("Monitor "));
+        assertThat(resultados).extracting(ProductoBusquedaResponse.Resultado::puntaje).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    private void cargar(ProductoTexto... productos) {
+        when(productoRepository.streamTextos()).thenReturn(List.of(productos).stream());
+        indexador.reconstruir();
+    }
+
+    private static ProductoTexto texto(String codigo, String nombre, String caracteristicas) {
+        return new ProductoTexto(UUID.randomUUID(), NIT, codigo, nombre, caracteristicas);
+    }
+
+    private static List<String> nombres(List<ProductoBusquedaResponse.Resultado> resultados) {
+        return resultados.stream().map(ProductoBusquedaResponse.Resultado::nombre).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.litethinking.platform.catalog.service;
+
+import com.litethinking.platform.catalog.dto.EmpresaRequest;
+import com.litethinking.platform.catalog.dto.EmpresaUpdateRequest;
+import com.litethinking.platform.catalog.dto.PrecioRequest;
+import com.litethinking.platform.catalog.dto.ProductoRequest;
+import com.litethinking.platform.catalog.mapper.EmpresaMapperImpl;
+import com.litethinking.platform.catalog.mapper.ProductoMapperImpl;
+import com.litethinking.platform.common.api.RecursoVersion;
+import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The conditional GET validators: each is one query that loads no entity, and each changes whenever
+ * the representation it guards changes.
+ */
+@PruebaJpaSinRollback
+@Import({EmpresaService.class, EmpresaMapperImpl.class, ProductoService.class, ProductoMapperImpl.class,
+        CategoriaCache.class, CatalogoVersionService.class})
+class CatalogoValidadoresTest {
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void validadoresDebenResolverseConUnaConsultaSinCargarEntidades() {
+        String nit = empresa();
+        UUID id = productoService.crear(producto(nit, "SKU-1", "USD")).id();
+
+        for (Supplier<RecursoVersion> validador : List.<Supplier<RecursoVersion>>of(
+                () -> empresaService.version(nit),
+                empresaService::versionListado,
+                () -> productoService.version(id),
+                () -> productoService.versionListado(nit))) {
+            statistics.clear();
+            RecursoVersion version = validador.get();
+
+            assertThat(version.etag()).startsWith("W/\"");
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        }
+    }
+
+    @Test
+    void versionDeEmpresaDebeCambiarConLaEmpresaYConSusProductos() {
+        String nit = empresa();
+        RecursoVersion inicial = empresaService.version(nit);
+        assertThat(empresaService.version(nit)).isEqualTo(inicial);
+        assertThat(inicial.ultimaModificacion()).isNotNull();
+
+        empresaService.actualizar(nit, new EmpresaUpdateRequest("Nuevo nombre", "Calle 2", "556"));
+        RecursoVersion actualizada = empresaService.version(nit);
+        assertThat(actualizada.etag()).isNotEqualTo(inicial.etag());
+
+        productoService.crear(producto(nit, "SKU-1", "USD"));
+        assertThat(empresaService.version(nit).etag()).isNotEqualTo(actualizada.etag());
+
+        empresaService.eliminar(nit);
+        assertThatThrownBy(() -> empresaService.version(nit)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void versionDelListadoDeEmpresasDebeCambiarAlCrearEliminarOModificar() {
+        String nit = empresa();
+        RecursoVersion inicial = empresaService.versionListado();
+        assertThat(empresaService.versionListado()).isEqualTo(inicial);
+
+        String otra = empresa();
+        RecursoVersion conOtra = empresaService.versionListado();
+        assertThat(conOtra.etag()).isNotEqualTo(inicial.etag());
+
+        productoService.crear(producto(nit, "SKU-1", "USD"));
+        RecursoVersion conProducto = empresaService.versionListado();
+        assertThat(conProducto.etag()).isNotEqualTo(conOtra.etag());
+
+        empresaService.eliminar(otra);
+        assertThat(empresaService.versionListado().etag()).isNotIn(conOtra.etag(), conProducto.etag());
+    }
+
+    @Test
+    void versionDeProductoDebeCambiarAunqueSoloCambienLosPrecios() {
+        String nit = empresa();
+        UUID id = productoService.crear(producto(nit, "SKU-1", "USD")).id();
+        RecursoVersion inicial = productoService.version(id);
+
+        productoService.actualizar(id, producto(nit, "SKU-1", "EUR"));
+
+        RecursoVersion actualizada = productoService.version(id);
+        assertThat(actualizada.etag()).isNotEqualTo(inicial.etag());
+        assertThat(actualizada.ultimaModificacion()).isAfterOrEqualTo(inicial.ultimaModificacion());
+
+        productoService.eliminar(id);
+        assertThatThrownBy(() -> productoService.version(id)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void versionDelListadoDeProductosDebeCambiarAlEliminarLaEmpresa() {
+        String nit = empresa();
+        productoService.crear(producto(nit, "SKU-1", "USD"));
+        RecursoVersion conProducto = productoService.versionListado(nit);
+
+        empresaService.eliminar(nit);
+
+        assertThat(productoService.versionListado(nit).etag()).isNotEqualTo(conProducto.etag());
+        assertThat(productoService.listarPorEmpresa(nit)).isEmpty();
+    }
+
+    private String empresa() {
+        String nit = String.valueOf(900_000_000L + (long) (Math.random() * 99_999_999L));
+        empresaService.crear(new EmpresaRequest(nit, "Empresa " + nit, "Calle 1", "555"));
+        return nit;
+    }
+
+    private static ProductoRequest producto(String nit, String codigo, String moneda) {
+        return new ProductoRequest(codigo, "Producto " + codigo, null, nit,
+                List.of(new PrecioRequest(moneda, BigDecimal.TEN)), List.of("Tecnologia"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.litethinking.platform.catalog.service;
+
+import com.litethinking.platform.catalog.dto.RevisionCatalogo;
+import com.litethinking.platform.common.persistence.PruebaJpa;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PruebaJpa
+@Import(CatalogoVersionService.class)
+class CatalogoVersionServiceTest {
+
+    @Autowired
+    private CatalogoVersionService catalogoVersionService;
+
+    @Test
+    void incrementarDebeCrearLaVersionLaPrimeraVezYLuegoAumentarla() {
+        assertThat(catalogoVersionService.obtener("900")).isZero();
+
+        catalogoVersionService.incrementar("900");
+        catalogoVersionService.incrementar("900");
+
+        assertThat(catalogoVersionService.obtener("900")).isEqualTo(2);
+        assertThat(catalogoVersionService.obtener("901")).isZero();
+    }
+
+    @Test
+    void cadaIncrementoDebeCambiarLaRevision() {
+        assertThat(catalogoVersionService.revision("902")).isEqualTo(RevisionCatalogo.INICIAL);
+
+        catalogoVersionService.incrementar("902");
+        RevisionCatalogo primera = catalogoVersionService.revision("902");
+        catalogoVersionService.incrementar("902");
+        RevisionCatalogo segunda = catalogoVersionService.revision("902");
+
+        assertThat(primera.version()).isEqualTo(1);
+        assertThat(segunda.version()).isEqualTo(2);
+        assertThat(primera.revision()).isNotNull().isNotEqualTo(segunda.revision());
+    }
+}
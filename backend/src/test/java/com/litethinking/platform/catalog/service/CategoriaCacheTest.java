@@ -0,0 +1,105 @@
+package com.litethinking.platform.catalog.service;
+
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.repository.CategoriaRepository;
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PruebaJpaSinRollback
+@Import(CategoriaCache.class)
+class CategoriaCacheTest {
+
+    @Autowired
+    private CategoriaCache categoriaCache;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    // Categories are committed to the shared database, so every test works on names of its own.
+    private String sufijo;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        sufijo = " " + UUID.randomUUID();
+        categoriaRepository.save(new Categoria("Existente" + sufijo));
+        categoriaCache.precargar();
+    }
+
+    @Test
+    void resolverDebeCrearFaltantesEnBloqueYLuegoServirDesdeCache() {
+        statistics.clear();
+        Set<Categoria> primera = categoriaCache.resolver(
+                List.of("Existente" + sufijo, "Nueva A" + sufijo, "Nueva B" + sufijo));
+        long consultasPrimera = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Set<Categoria> segunda = categoriaCache.resolver(
+                List.of("Nueva B" + sufijo, "Existente" + sufijo, "Nueva A" + sufijo));
+
+        assertThat(primera).extracting(Categoria::getNombre).containsExactly(
+                "Existente" + sufijo, "Nueva A" + sufijo, "Nueva B" + sufijo);
+        assertThat(primera).allSatisfy(categoria -> assertThat(categoria.getId()).isNotNull());
+        // One IN lookup, one insert per new name and one IN re-read.
+        assertThat(consultasPrimera).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(segunda).extracting(Categoria::getId)
+                .containsExactlyInAnyOrderElementsOf(primera.stream().map(Categoria::getId).toList());
+    }
+
+    @Test
+    void resolverConcurrenteDeLaMismaCategoriaDebeCrearUnaSolaFila() throws Exception {
+        int hilos = 8;
+        String nombre = "Concurrente" + sufijo;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<Set<Categoria>>> resultados = IntStream.range(0, hilos)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        await(salida);
+                        return categoriaCache.resolver(List.of(nombre));
+                    }, executor))
+                    .toList();
+            salida.countDown();
+
+            Set<Object> ids = new HashSet<>();
+            for (CompletableFuture<Set<Categoria>> resultado : resultados) {
+                ids.add(resultado.get().iterator().next().getId());
+            }
+            assertThat(ids).hasSize(1);
+            assertThat(categoriaRepository.findByNombreIn(List.of(nombre))).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
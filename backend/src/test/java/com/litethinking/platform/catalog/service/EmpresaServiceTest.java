@@ -1,6 +1,7 @@
 package com.litethinking.platform.catalog.service;
 
 import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.EmpresaEliminada;
 import com.litethinking.platform.catalog.dto.EmpresaRequest;
 import com.litethinking.platform.catalog.dto.EmpresaResponse;
 import com.litethinking.platform.catalog.mapper.EmpresaMapper;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -29,6 +31,12 @@ class EmpresaServiceTest {
     @Mock
     private EmpresaMapper empresaMapper;
 
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EmpresaService empresaService;
 
@@ -82,5 +90,6 @@ class EmpresaServiceTest {
         empresaService.eliminar("123");
 
         org.mockito.Mockito.verify(empresaRepository).deleteById("123");
+        org.mockito.Mockito.verify(eventPublisher).publishEvent(new EmpresaEliminada("123"));
     }
 }
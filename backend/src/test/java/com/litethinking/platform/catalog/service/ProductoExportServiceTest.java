@@ -0,0 +1,89 @@
+package com.litethinking.platform.catalog.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoPrecio;
+import com.litethinking.platform.catalog.mapper.ProductoMapperImpl;
+import com.litethinking.platform.common.persistence.PruebaJpa;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PruebaJpa
+@Import({ProductoExportService.class, ProductoMapperImpl.class, JacksonAutoConfiguration.class})
+class ProductoExportServiceTest {
+
+    private static final int PRODUCTOS = 250;
+
+    @Autowired
+    private ProductoExportService productoExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        Empresa empresa = entityManager.persist(new Empresa("900100200", "Export", "Calle 1", "555"));
+        for (int i = 0; i < PRODUCTOS; i++) {
+            Producto producto = new Producto(String.format("SKU-%03d", i), "Producto " + i, null, empresa);
+            producto.replacePrecios(Set.of(new ProductoPrecio("COP", BigDecimal.valueOf(i))));
+            entityManager.persist(producto);
+        }
+        entityManager.persist(new Empresa("900100300", "Vacia", "Calle 2", "556"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportarDebeEscribirUnaLineaPorProductoEnOrden() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        statistics.clear();
+
+        long exportados = productoExportService.exportarPorEmpresa("900100200", output);
+
+        List<String> lineas = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exportados).isEqualTo(PRODUCTOS);
+        assertThat(lineas).hasSize(PRODUCTOS);
+
+        JsonNode primero = objectMapper.readTree(lineas.get(0));
+        assertThat(primero.get("codigo").asText()).isEqualTo("SKU-000");
+        assertThat(primero.get("precios")).hasSize(1);
+        assertThat(objectMapper.readTree(lineas.get(PRODUCTOS - 1)).get("codigo").asText()).isEqualTo("SKU-249");
+
+        // One cursor plus batched collection loads per chunk, never one query per product.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(PRODUCTOS / 10);
+    }
+
+    @Test
+    void exportarEmpresaSinProductosNoEscribeNada() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThat(productoExportService.exportarPorEmpresa("900100300", output)).isZero();
+        assertThat(output.size()).isZero();
+    }
+}
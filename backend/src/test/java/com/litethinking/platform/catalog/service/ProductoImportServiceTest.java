@@ -0,0 +1,190 @@
+package com.litethinking.platform.catalog.service;
+
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.dto.ProductoImportResponse;
+import com.litethinking.platform.catalog.mapper.ProductoMapperImpl;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Runs without the test transaction so every chunk commits the way it does in production.
+ */
+@PruebaJpaSinRollback
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Import({ProductoImportService.class, CategoriaCache.class, CatalogoVersionService.class, ProductoMapperImpl.class,
+        JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class ProductoImportServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoImportServiceTest.class);
+    private static final String HEADER = "codigo,nombre,caracteristicas,empresaNit,precios,categorias\n";
+
+    @Autowired
+    private ProductoImportService productoImportService;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @SpyBean
+    private CatalogoVersionService catalogoVersionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void importarCsvDebeInsertarEnLotes() throws Exception {
+        empresaRepository.save(new Empresa("910000001", "Import", "Calle 1", "555"));
+        int filas = ProductoImportService.CHUNK_SIZE * 2 + 200;
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < filas; i++) {
+            csv.append("IMP-").append(i).append(",Producto ").append(i)
+                    .append(",,910000001,USD:").append(i + 1).append("|COP:").append((i + 1) * 4000)
+                    .append(",Tecnologia|Lote ").append(i % 3).append('\n');
+        }
+        statistics.clear();
+        long start = System.nanoTime();
+
+        ProductoImportResponse response = productoImportService.importarCsv(stream(csv.toString()));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        long inserts = statistics.getEntityInsertCount();
+        log.info("importar productos={} statements={} inserts={} latency={}ms", filas, statements, inserts, elapsedMillis);
+
+        assertThat(response.total()).isEqualTo(filas);
+        assertThat(response.importados()).isEqualTo(filas);
+        assertThat(response.fallidos()).isZero();
+        assertThat(productoRepository.findCodigosByEmpresaNitAndCodigoIn("910000001", List.of("IMP-0", "IMP-1199")))
+                .containsExactlyInAnyOrder("IMP-0", "IMP-1199");
+        // Productos, precios and producto_categoria rows are written; without batching that is one statement each.
+        assertThat(inserts).isEqualTo(filas * 3L);
+        assertThat(statements).isLessThan(filas / 20);
+        assertThat(catalogoVersionService.obtener("910000001")).isEqualTo(3);
+    }
+
+    @Test
+    void importarCsvDebeReportarLasFilasInvalidasYGuardarLasDemas() throws Exception {
+        empresaRepository.save(new Empresa("910000002", "Errores", "Calle 2", "556"));
+        Empresa empresa = empresaRepository.findById("910000002").orElseThrow();
+        productoRepository.save(new Producto("EXISTE", "Existente", null, empresa));
+
+        String csv = HEADER
+                + "OK-1,\"Producto, con coma\",\"Linea 1\nLinea 2\",910000002,USD:10,Hogar\n"
+                + "OK-2,Producto 2,,910000002,COP:2000,\n"
+                + ",Sin codigo,,910000002,USD:1,\n"
+                + "MALO,Precio,,910000002,USD:abc,\n"
+                + "OK-1,Repetido,,910000002,USD:3,\n"
+                + "EXISTE,Existente,,910000002,USD:4,\n"
+                + "AJENO,Sin empresa,,000000000,USD:5,\n";
+
+        ProductoImportResponse response = productoImportService.importarCsv(stream(csv));
+
+        assertThat(response.total()).isEqualTo(7);
+        assertThat(response.importados()).isEqualTo(2);
+        assertThat(response.fallidos()).isEqualTo(5);
+        assertThat(response.erroresTruncados()).isFalse();
+        assertThat(response.errores())
+                .extracting(ProductoImportResponse.Error::fila)
+                .containsExactly(5L, 6L, 7L, 8L, 9L);
+        assertThat(response.errores().get(0).mensajes()).containsExactly("El codigo es obligatorio");
+        assertThat(response.errores().get(1).mensajes()).containsExactly("Precio invalido: USD:abc");
+        assertThat(response.errores().get(2).mensajes()).containsExactly("El producto esta repetido en el archivo");
+        assertThat(response.errores().get(3).mensajes()).containsExactly("El producto ya existe para la empresa");
+        assertThat(response.errores().get(4).mensajes()).containsExactly("Empresa no encontrada");
+        assertThat(productoRepository.findCodigosByEmpresaNitAndCodigoIn("910000002", List.of("OK-1", "OK-2")))
+                .containsExactlyInAnyOrder("OK-1", "OK-2");
+    }
+
+    @Test
+    void importarNdjsonDebeReportarLineasMalFormadas() throws Exception {
+        empresaRepository.save(new Empresa("910000003", "Ndjson", "Calle 3", "557"));
+        String ndjson = """
+                {"codigo":"ND-1","nombre":"Producto 1","empresaNit":"910000003","precios":[{"moneda":"USD","valor":12}],"categorias":["Hogar"]}
+
+                {"codigo":"ND-2","nombre":
+                null
+                {"codigo":"ND-3","nombre":"Producto 3","empresaNit":"910000003","precios":[{"moneda":"USD","valor":7}],"categorias":[]}
+                """;
+
+        ProductoImportResponse response = productoImportService.importarNdjson(stream(ndjson));
+
+        assertThat(response.total()).isEqualTo(4);
+        assertThat(response.importados()).isEqualTo(2);
+        assertThat(response.errores()).extracting(ProductoImportResponse.Error::fila).containsExactly(3L, 4L);
+        assertThat(response.errores().get(0).mensajes().get(0)).startsWith("JSON invalido");
+        assertThat(response.errores().get(1).mensajes()).containsExactly("La linea no contiene un producto");
+    }
+
+    @Test
+    void importarDebeReportarComoRepetidoElProductoQueOtraTransaccionInsertoAntesDelFlush() throws Exception {
+        empresaRepository.save(new Empresa("910000004", "Carrera", "Calle 4", "558"));
+        Empresa empresa = empresaRepository.findById("910000004").orElseThrow();
+        // Each chunk attempt passes the existentes check and then loses the race for the next codigo.
+        Iterator<String> competidores = List.of("RACE-1", "RACE-2").iterator();
+        doAnswer(invocation -> {
+            if (competidores.hasNext()) {
+                String codigo = competidores.next();
+                CompletableFuture.runAsync(() -> productoRepository.save(new Producto(codigo, "Competidor", null, empresa)))
+                        .join();
+            }
+            return invocation.callRealMethod();
+        }).when(catalogoVersionService).incrementar("910000004");
+
+        ProductoImportResponse response = productoImportService.importarCsv(stream(HEADER
+                + "RACE-1,Producto 1,,910000004,USD:1,\n"
+                + "RACE-2,Producto 2,,910000004,USD:2,\n"));
+
+        assertThat(response.importados()).isZero();
+        assertThat(response.errores()).extracting(ProductoImportResponse.Error::fila).containsExactly(2L, 3L);
+        assertThat(response.errores()).allSatisfy(error ->
+                assertThat(error.mensajes()).containsExactly("El producto ya existe para la empresa"));
+    }
+
+    @Test
+    void importarCsvSinColumnasObligatoriasDebeFallar() {
+        assertThatThrownBy(() -> productoImportService.importarCsv(stream("codigo,nombre\nA,B\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("empresanit");
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,183 @@
+package com.litethinking.platform.catalog.service;
+
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoPrecio;
+import com.litethinking.platform.catalog.dto.ProductoResponse;
+import com.litethinking.platform.catalog.mapper.ProductoMapperImpl;
+import com.litethinking.platform.common.persistence.PruebaJpa;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression check for the catalog read path: precios and categorias are fetched in separate batched
+ * queries, so the rows read grow with precios + categorias instead of precios x categorias.
+ */
+@PruebaJpa
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=100")
+@Import({ProductoService.class, CategoriaCache.class, CatalogoVersionService.class, ProductoMapperImpl.class,
+        ProductoServiceQueryCountTest.RowCounting.class})
+class ProductoServiceQueryCountTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductoServiceQueryCountTest.class);
+    private static final int PRODUCTOS = 250;
+    private static final int PRECIOS = 4;
+    private static final int CATEGORIAS = 5;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AtomicLong rowsRead;
+
+    private Statistics statistics;
+    private UUID primerProducto;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        Empresa empresa = entityManager.persist(new Empresa("920000001", "Catalogo", "Calle 1", "555"));
+        Set<Categoria> categorias = new LinkedHashSet<>();
+        IntStream.range(0, CATEGORIAS).forEach(i -> categorias.add(entityManager.persist(new Categoria("Categoria " + i))));
+        for (int i = 0; i < PRODUCTOS; i++) {
+            Producto producto = new Producto("SKU-" + i, "Producto " + i, null, empresa);
+            Set<ProductoPrecio> precios = new LinkedHashSet<>();
+            for (String moneda : List.of("USD", "COP", "EUR", "MXN")) {
+                ProductoPrecio precio = new ProductoPrecio(moneda, BigDecimal.valueOf(i + 1));
+                precio.setProducto(producto);
+                precios.add(precio);
+            }
+            producto.replacePrecios(precios);
+            producto.setCategorias(categorias);
+            entityManager.persist(producto);
+            if (i == 0) {
+                primerProducto = producto.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listarPorEmpresaNoDebeMultiplicarFilasPorPreciosYCategorias() {
+        statistics.clear();
+        rowsRead.set(0);
+
+        List<ProductoResponse> productos = productoService.listarPorEmpresa("920000001");
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("listar productos={} statements={} rows={}", productos.size(), statements, rowsRead.get());
+        assertThat(productos).hasSize(PRODUCTOS);
+        assertThat(productos).allSatisfy(producto -> {
+            assertThat(producto.precios()).hasSize(PRECIOS);
+            assertThat(producto.categorias()).hasSize(CATEGORIAS);
+        });
+        // One query for the products plus one per batch of 100 ids for each collection.
+        int batches = (PRODUCTOS + 99) / 100;
+        assertThat(statements).isEqualTo(1 + 2L * batches);
+        assertThat(rowsRead.get()).isEqualTo((long) PRODUCTOS * (1 + PRECIOS + CATEGORIAS));
+    }
+
+    @Test
+    void obtenerDebeLeerUnaFilaPorPrecioYPorCategoria() {
+        statistics.clear();
+        rowsRead.set(0);
+
+        ProductoResponse producto = productoService.obtener(primerProducto);
+
+        assertThat(producto.precios()).hasSize(PRECIOS);
+        assertThat(producto.categorias()).hasSize(CATEGORIAS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(rowsRead.get()).isEqualTo(1 + PRECIOS + CATEGORIAS);
+    }
+
+    /**
+     * Wraps the pooled DataSource so every {@link ResultSet#next()} that returns a row is counted.
+     */
+    @TestConfiguration
+    static class RowCounting {
+
+        @Bean
+        AtomicLong rowsRead() {
+            return new AtomicLong();
+        }
+
+        @Bean
+        static BeanPostProcessor rowCountingDataSource(ObjectProvider<AtomicLong> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return wrap(super.getConnection(), counter.getObject());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static <T> T wrap(T target, AtomicLong rows) {
+            Class<?>[] interfaces = ClassUtils.getAllInterfaces(target);
+            @SuppressWarnings("unchecked")
+            T proxy = (T) Proxy.newProxyInstance(RowCounting.class.getClassLoader(), interfaces, (self, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+                if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    rows.incrementAndGet();
+                }
+                if (result instanceof Statement || result instanceof ResultSet) {
+                    return wrap(result, rows);
+                }
+                return result;
+            });
+            return proxy;
+        }
+    }
+}
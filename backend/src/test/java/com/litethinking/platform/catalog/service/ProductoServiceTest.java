@@ -3,6 +3,7 @@ package com.litethinking.platform.catalog.service;
 import com.litethinking.platform.catalog.domain.Categoria;
 import com.litethinking.platform.catalog.domain.Empresa;
 import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoCambio;
 import com.litethinking.platform.catalog.domain.ProductoPrecio;
 import com.litethinking.platform.catalog.dto.PrecioRequest;
 import com.litethinking.platform.catalog.dto.ProductoRequest;
@@ -10,6 +11,8 @@ import com.litethinking.platform.catalog.mapper.ProductoMapper;
 import com.litethinking.platform.catalog.repository.CategoriaRepository;
 import com.litethinking.platform.catalog.repository.EmpresaRepository;
 import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.common.api.Cursor;
+import com.litethinking.platform.common.api.CursorPage;
 import com.litethinking.platform.common.exception.ResourceAlreadyExistsException;
 import com.litethinking.platform.common.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +20,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -27,6 +32,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -41,6 +47,10 @@ class ProductoServiceTest {
     private EmpresaRepository empresaRepository;
     @Mock
     private CategoriaRepository categoriaRepository;
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private final ProductoMapper productoMapper = new ProductoMapper() { };
     private ProductoService productoService;
@@ -48,7 +58,8 @@ class ProductoServiceTest {
 
     @BeforeEach
     void setUp() {
-        productoService = new ProductoService(productoRepository, empresaRepository, categoriaRepository, productoMapper);
+        productoService = new ProductoService(productoRepository, empresaRepository, new CategoriaCache(categoriaRepository), productoMapper,
+                catalogoVersionService, eventPublisher);
         empresa = new Empresa("123", "Lite", "Dir", "Tel");
     }
 
@@ -65,8 +76,8 @@ class ProductoServiceTest {
 
         when(empresaRepository.findById(empresa.getNit())).thenReturn(Optional.of(empresa));
         when(productoRepository.existsByCodigoAndEmpresaNit("PROD-01", empresa.getNit())).thenReturn(false);
-        when(categoriaRepository.findByNombre(any())).thenReturn(Optional.empty());
-        when(categoriaRepository.save(any(Categoria.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoriaRepository.findByNombreIn(List.of("Tecnologia", "Computadores")))
+                .thenReturn(List.of(), List.of(new Categoria("Tecnologia"), new Categoria("Computadores")));
         when(productoRepository.save(any(Producto.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         var response = productoService.crear(request);
@@ -74,6 +85,9 @@ class ProductoServiceTest {
         assertThat(response.codigo()).isEqualTo("PROD-01");
         assertThat(response.categorias()).containsExactlyInAnyOrder("Tecnologia", "Computadores");
         assertThat(response.precios()).hasSize(1);
+        verify(catalogoVersionService).incrementar(empresa.getNit());
+        verify(categoriaRepository).insertarSiNoExiste(any(UUID.class), eq("Tecnologia"));
+        verify(categoriaRepository).insertarSiNoExiste(any(UUID.class), eq("Computadores"));
         verify(productoRepository).save(any(Producto.class));
     }
 
@@ -130,7 +144,7 @@ class ProductoServiceTest {
         );
 
         when(productoRepository.findById(id)).thenReturn(Optional.of(producto));
-        when(categoriaRepository.findByNombre("Tecnologia")).thenReturn(Optional.of(new Categoria("Tecnologia")));
+        when(categoriaRepository.findByNombreIn(List.of("Tecnologia"))).thenReturn(List.of(new Categoria("Tecnologia")));
 
         var response = productoService.actualizar(id, request);
 
@@ -139,12 +153,66 @@ class ProductoServiceTest {
         assertThat(response.precios()).extracting("valor").containsExactly(BigDecimal.valueOf(1800));
     }
 
+    @Test
+    void listarPaginaDebeRetornarCursorCuandoHayMasResultados() {
+        List<Producto> productos = List.of(
+                conId(new Producto("PROD-01", "Uno", null, empresa)),
+                conId(new Producto("PROD-02", "Dos", null, empresa)),
+                conId(new Producto("PROD-03", "Tres", null, empresa))
+        );
+        when(productoRepository.findPageByEmpresaNit(empresa.getNit(), CursorPage.window(2))).thenReturn(productos);
+
+        CursorPage<?> page = productoService.listarPaginaPorEmpresa(empresa.getNit(), null, 2);
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(Cursor.decode(page.nextCursor())).isEqualTo(new Cursor("PROD-02", productos.get(1).getId()));
+    }
+
+    @Test
+    void listarPaginaDebeContinuarDesdeElCursor() {
+        UUID ultimoId = UUID.randomUUID();
+        String cursor = new Cursor("PROD-02", ultimoId).encode();
+        when(productoRepository.findPageByEmpresaNitAfter(empresa.getNit(), "PROD-02", ultimoId, CursorPage.window(2)))
+                .thenReturn(List.of(new Producto("PROD-03", "Tres", null, empresa)));
+
+        CursorPage<?> page = productoService.listarPaginaPorEmpresa(empresa.getNit(), cursor, 2);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void listarPaginaDebeRechazarCursorInvalido() {
+        assertThatThrownBy(() -> productoService.listarPaginaPorEmpresa(empresa.getNit(), "no-es-un-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(productoRepository, never()).findPageByEmpresaNitAfter(anyString(), anyString(), any(), any());
+    }
+
     @Test
     void eliminarDebeFallarCuandoNoExisteProducto() {
         UUID id = UUID.randomUUID();
-        when(productoRepository.existsById(id)).thenReturn(false);
+        when(productoRepository.findById(id)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> productoService.eliminar(id))
                 .isInstanceOf(ResourceNotFoundException.class);
+        verify(catalogoVersionService, never()).incrementar(anyString());
+    }
+
+    @Test
+    void eliminarDebeIncrementarVersionDelCatalogo() {
+        Producto producto = conId(new Producto("PROD-01", "Laptop", null, empresa));
+        when(productoRepository.findById(producto.getId())).thenReturn(Optional.of(producto));
+
+        productoService.eliminar(producto.getId());
+
+        verify(productoRepository).delete(producto);
+        verify(catalogoVersionService).incrementar("123");
+        verify(eventPublisher).publishEvent(ProductoCambio.eliminado(producto));
+    }
+
+    private Producto conId(Producto producto) {
+        ReflectionTestUtils.setField(producto, "id", UUID.randomUUID());
+        return producto;
     }
 }
@@ -0,0 +1,29 @@
+package com.litethinking.platform.common.api;
+
+import com.litethinking.platform.common.persistence.ConsultasSql;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers on the SQL statements a request executed, as counted by {@link ServerTimingFilter}:
+ * {@code mockMvc.perform(get(...)).andExpect(maximoConsultas(3))}.
+ */
+public final class ConsultasSqlMatchers {
+
+    private ConsultasSqlMatchers() {
+    }
+
+    public static ResultMatcher maximoConsultas(int maximo) {
+        return result -> assertThat(consultas(result.getRequest()))
+                .as("consultas SQL de %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maximo);
+    }
+
+    public static int consultas(MockHttpServletRequest request) {
+        ConsultasSql.Medicion medicion = (ConsultasSql.Medicion) request.getAttribute(ServerTimingFilter.ATRIBUTO);
+        assertThat(medicion).as("ServerTimingFilter no registro la solicitud").isNotNull();
+        return medicion.consultas();
+    }
+}
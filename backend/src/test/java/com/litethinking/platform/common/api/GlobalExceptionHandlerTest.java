@@ -0,0 +1,81 @@
+package com.litethinking.platform.common.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.catalog.service.CatalogoVersionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:server-timing;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class GlobalExceptionHandlerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private CatalogoVersionService catalogoVersionService;
+
+    @Test
+    void actualizacionConcurrenteDeUnaEmpresaDebeResponderConflicto() throws Exception {
+        String nit = String.valueOf(700_000_000L + (long) (Math.random() * 99_999_999L));
+        empresaRepository.save(new Empresa(nit, "Original", "Calle 1", "555"));
+        // Once the request has read the empresa, another transaction commits its own update first.
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    empresaRepository.findById(nit).orElseThrow().update("Concurrente", "Calle 2", "556"))).join();
+            return invocation.callRealMethod();
+        }).when(catalogoVersionService).incrementar(nit);
+
+        mockMvc.perform(put("/api/empresas/{nit}", nit)
+                        .header(HttpHeaders.AUTHORIZATION, token())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Perdedora\",\"direccion\":\"Calle 3\",\"telefono\":\"557\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value(containsString("modificado por otra solicitud")));
+
+        assertThat(empresaRepository.findById(nit)).get().extracting(Empresa::getNombre).isEqualTo("Concurrente");
+    }
+
+    private String token() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@litethinking.com\",\"password\":\"Admin123*\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).path("token").asText();
+    }
+}
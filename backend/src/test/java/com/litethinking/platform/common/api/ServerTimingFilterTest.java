@@ -0,0 +1,134 @@
+package com.litethinking.platform.common.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.litethinking.platform.orders.controller.OrdenController;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.litethinking.platform.common.api.ConsultasSqlMatchers.maximoConsultas;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Server-Timing header and the statement budgets of the catalog and order endpoints, with enough
+ * products that a per-product query would break the budget.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:server-timing;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    private static final int PRODUCTOS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@litethinking.com\",\"password\":\"Admin123*\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        token = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).path("token").asText();
+    }
+
+    @Test
+    void todasLasRespuestasDebenIncluirServerTiming() throws Exception {
+        mockMvc.perform(get("/api/empresas"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.ENCABEZADO,
+                        matchesPattern(
+                                "db;dur=\\d+\\.\\d;desc=\"\\d+ consultas\", total;dur=\\d+\\.\\d")));
+        mockMvc.perform(get("/api/empresas/no-existe"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().exists(ServerTimingFilter.ENCABEZADO));
+    }
+
+    @Test
+    void endpointsDebenRespetarSuPresupuestoDeConsultasSinImportarCuantosProductosHaya() throws Exception {
+        String nit = String.valueOf(900_000_000L + (long) (Math.random() * 99_999_999L));
+        enviar(post("/api/empresas"), """
+                {"nit":"%s","nombre":"Empresa %s","direccion":"Calle 1","telefono":"555"}
+                """.formatted(nit, nit), 7);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            MvcResult producto = enviar(post("/api/productos"), """
+                    {"codigo":"SKU-%d","nombre":"Producto %d","empresaNit":"%s",
+                     "precios":[{"moneda":"USD","valor":10},{"moneda":"COP","valor":40000}],
+                     "categorias":["Tecnologia","Hogar"]}
+                    """.formatted(i, i, nit), 8);
+            ids.add(objectMapper.readTree(producto.getResponse().getContentAsString()).path("id").asText());
+        }
+
+        // Cold second-level cache, so the counts cannot hide an N+1 behind cache hits.
+        vaciarCache();
+        medir(get("/api/productos").param("empresaNit", nit), 4);
+        vaciarCache();
+        medir(get("/api/productos/pagina").param("empresaNit", nit), 4);
+
+        vaciarCache();
+        String items = ids.stream()
+                .map(id -> "{\"productoId\":\"%s\",\"cantidad\":2,\"precioUnitario\":10}".formatted(id))
+                .collect(Collectors.joining(","));
+        String orden = """
+                {"empresaNit":"%s","clienteCorreo":"timing@dominio.com","clienteNombre":"Timing","items":[%s]}
+                """.formatted(nit, items);
+        enviar(post("/api/ordenes"), orden, 12);
+        medir(get("/api/ordenes/pagina").param("empresaNit", nit), 3);
+
+        // An Idempotency-Key adds the key reservation to the order; a retry is a single lookup.
+        enviar(post("/api/ordenes").header(OrdenController.IDEMPOTENCY_KEY, nit), orden, 15);
+        mockMvc.perform(post("/api/ordenes")
+                        .header(OrdenController.IDEMPOTENCY_KEY, nit)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(orden))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(OrdenController.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(maximoConsultas(1));
+    }
+
+    // JPA's evictAll keeps the collection regions, whose cached ids would then load one by one.
+    private void vaciarCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    private MvcResult enviar(MockHttpServletRequestBuilder request, String cuerpo, int maximo) throws Exception {
+        return medir(request.contentType(MediaType.APPLICATION_JSON).content(cuerpo), maximo);
+    }
+
+    private MvcResult medir(MockHttpServletRequestBuilder request, int maximo) throws Exception {
+        return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(maximoConsultas(maximo))
+                .andReturn();
+    }
+}
@@ -0,0 +1,69 @@
+package com.litethinking.platform.common.config;
+
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PruebaJpaSinRollback
+@TestPropertySource(properties = {
+        "carga.empresas=3",
+        "carga.productos-por-empresa=40",
+        "carga.ordenes-por-empresa=25",
+        "carga.clientes=7"
+})
+@ActiveProfiles("carga")
+@Import(GeneradorDatosDeCarga.class)
+class GeneradorDatosDeCargaTest {
+
+    @Autowired
+    private GeneradorDatosDeCarga generador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void runDebeSembrarLosVolumenesConfiguradosUnaSolaVez() {
+        generador.run();
+        List<Long> antes = conteos();
+        generador.run();
+
+        assertThat(conteos()).isEqualTo(antes);
+        assertThat(contar("select count(*) from empresas where nit like '8000000%'")).isEqualTo(3);
+        assertThat(contar("select count(*) from productos where codigo like 'CARGA-%'")).isEqualTo(120);
+        assertThat(contar("select count(*) from producto_precios p join productos x on x.id = p.producto_id"
+                + " where x.codigo like 'CARGA-%'")).isEqualTo(240);
+        assertThat(contar("select count(*) from ordenes where empresa_nit like '8000000%'")).isEqualTo(75);
+        assertThat(contar("select count(*) from clientes where correo like '%@carga.litethinking.com'")).isEqualTo(7);
+    }
+
+    @Test
+    void rollupsDebenCoincidirConLasOrdenesGeneradas() {
+        generador.run();
+
+        BigDecimal ordenes = jdbcTemplate.queryForObject(
+                "select sum(total) from ordenes where empresa_nit like '8000000%'", BigDecimal.class);
+        BigDecimal rollups = jdbcTemplate.queryForObject(
+                "select sum(ingresos) from ventas_diarias_empresa where empresa_nit like '8000000%'", BigDecimal.class);
+        assertThat(rollups).isEqualByComparingTo(ordenes);
+        assertThat(contar("select sum(ordenes) from ventas_diarias_empresa where empresa_nit like '8000000%'"))
+                .isEqualTo(75);
+    }
+
+    private List<Long> conteos() {
+        return List.of(contar("select count(*) from productos"), contar("select count(*) from orden_items"),
+                contar("select count(*) from ventas_diarias_producto"));
+    }
+
+    private long contar(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
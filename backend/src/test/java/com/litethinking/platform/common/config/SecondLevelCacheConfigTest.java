@@ -0,0 +1,165 @@
+package com.litethinking.platform.common.config;
+
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.dto.EmpresaUpdateRequest;
+import com.litethinking.platform.catalog.dto.PrecioRequest;
+import com.litethinking.platform.catalog.dto.ProductoRequest;
+import com.litethinking.platform.catalog.dto.ProductoResponse;
+import com.litethinking.platform.catalog.mapper.EmpresaMapperImpl;
+import com.litethinking.platform.catalog.mapper.ProductoMapperImpl;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.catalog.service.CatalogoVersionService;
+import com.litethinking.platform.catalog.service.CategoriaCache;
+import com.litethinking.platform.catalog.service.EmpresaService;
+import com.litethinking.platform.catalog.service.ProductoService;
+import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import com.litethinking.platform.orders.dto.OrdenItemRequest;
+import com.litethinking.platform.orders.dto.OrdenRequest;
+import com.litethinking.platform.orders.repository.VentasRollupRepository;
+import com.litethinking.platform.orders.service.OrdenService;
+import com.litethinking.platform.orders.service.VentasService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Write-path statement counts with a cold and a warm second-level cache, plus invalidation of the
+ * cached empresas and product collections. Runs without a test transaction so every service call
+ * commits, which is when Hibernate updates the cache.
+ */
+@PruebaJpaSinRollback
+@Import({SecondLevelCacheConfig.class, EmpresaService.class, EmpresaMapperImpl.class, ProductoService.class,
+        ProductoMapperImpl.class, CategoriaCache.class, CatalogoVersionService.class, OrdenService.class,
+        VentasService.class, VentasRollupRepository.class})
+class SecondLevelCacheConfigTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheConfigTest.class);
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private ProductoService productoService;
+
+    @Autowired
+    private OrdenService ordenService;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void crearProductoYOrdenDebenLeerLaEmpresaDesdeLaCache() {
+        String nit = empresa();
+        // Warm-up: the first write of an empresa also seeds its catalog version, clientes and categorias.
+        ProductoResponse producto = productoService.crear(producto(nit, "SKU-0"));
+        ordenService.crear(orden(nit, producto.id()));
+
+        entityManagerFactory.getCache().evictAll();
+        long productoFrio = contar(() -> productoService.crear(producto(nit, "SKU-1")));
+        long productoCaliente = contar(() -> productoService.crear(producto(nit, "SKU-2")));
+
+        entityManagerFactory.getCache().evictAll();
+        long ordenFria = contar(() -> ordenService.crear(orden(nit, producto.id())));
+        long ordenCaliente = contar(() -> ordenService.crear(orden(nit, producto.id())));
+
+        log.info("ProductoService.crear statements cold={} warm={}", productoFrio, productoCaliente);
+        log.info("OrdenService.crear statements cold={} warm={}", ordenFria, ordenCaliente);
+        assertThat(productoCaliente).isEqualTo(productoFrio - 1);
+        assertThat(ordenCaliente).isEqualTo(ordenFria - 1);
+        // The native upserts on categorias and catalogo_versiones must not evict unrelated regions.
+        assertThat(entityManagerFactory.getCache().contains(Empresa.class, nit)).isTrue();
+    }
+
+    @Test
+    void obtenerDebeLeerPreciosYCategoriasDesdeLaCacheHastaQueCambien() {
+        String nit = empresa();
+        UUID id = productoService.crear(producto(nit, "SKU-1")).id();
+        productoService.obtener(id);
+
+        long statements = contar(() -> productoService.obtener(id));
+        assertThat(statements).isEqualTo(1);
+
+        productoService.actualizar(id, new ProductoRequest("SKU-1", "Laptop", null, nit,
+                List.of(new PrecioRequest("EUR", BigDecimal.ONE)), List.of("Oficina")));
+
+        ProductoResponse actualizado = productoService.obtener(id);
+        assertThat(actualizado.precios()).extracting(ProductoResponse.PrecioDto::moneda).containsExactly("EUR");
+        assertThat(actualizado.categorias()).containsExactly("Oficina");
+    }
+
+    @Test
+    void actualizarEmpresaDebeRefrescarLaEntradaCacheada() {
+        String nit = empresa();
+        empresaService.obtener(nit);
+
+        empresaService.actualizar(nit, new EmpresaUpdateRequest("Nuevo nombre", "Calle 2", "556"));
+
+        statistics.clear();
+        assertThat(empresaService.obtener(nit).nombre()).isEqualTo("Nuevo nombre");
+        assertThat(statistics.getDomainDataRegionStatistics(Empresa.class.getName()).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void eliminarEmpresaDebeQuitarlaDeLaCache() {
+        String nit = empresa();
+        UUID id = productoService.crear(producto(nit, "SKU-1")).id();
+        productoService.obtener(id);
+        empresaService.obtener(nit);
+
+        empresaService.eliminar(nit);
+
+        // READ_WRITE leaves a lock entry behind instead of removing the key, so check reads, not keys.
+        statistics.clear();
+        assertThatThrownBy(() -> empresaService.obtener(nit)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> productoService.obtener(id)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statistics.getDomainDataRegionStatistics(Empresa.class.getName()).getHitCount()).isZero();
+        assertThat(empresaRepository.findById(nit)).isEmpty();
+    }
+
+    private long contar(Runnable accion) {
+        statistics.clear();
+        accion.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String empresa() {
+        String nit = String.valueOf(900_000_000L + (long) (Math.random() * 99_999_999L));
+        empresaRepository.save(new Empresa(nit, "Empresa " + nit, "Calle 1", "555"));
+        return nit;
+    }
+
+    private static ProductoRequest producto(String nit, String codigo) {
+        return new ProductoRequest(codigo, "Producto " + codigo, null, nit,
+                List.of(new PrecioRequest("USD", BigDecimal.TEN), new PrecioRequest("COP", BigDecimal.valueOf(40_000))),
+                List.of("Tecnologia", "Hogar"));
+    }
+
+    private static OrdenRequest orden(String nit, UUID productoId) {
+        return new OrdenRequest(nit, "cliente@dominio.com", "Cliente",
+                List.of(new OrdenItemRequest(productoId, 1, BigDecimal.TEN)));
+    }
+}
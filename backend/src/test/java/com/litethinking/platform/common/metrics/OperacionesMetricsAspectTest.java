@@ -0,0 +1,126 @@
+package com.litethinking.platform.common.metrics;
+
+import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.inventory.service.MailService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OperacionesMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OperacionesMetricsAspect aspect = new OperacionesMetricsAspect(meterRegistry, new EmpresaTag(nit -> !nit.equals("404"), 2, Duration.ofMinutes(1)));
+
+    @Test
+    void servicioDebeMedirseConOutcomeYEmpresa() {
+        CatalogoFalso catalogo = proxy(new CatalogoFalso());
+
+        catalogo.listar("900100200");
+        catalogo.crear(new Solicitud("900100201", "SKU-1"));
+        assertThatThrownBy(() -> catalogo.listar("404")).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(timer("listar", "900100200", "exito", "none").count()).isEqualTo(1);
+        assertThat(timer("crear", "900100201", "exito", "none").count()).isEqualTo(1);
+        assertThat(timer("listar", EmpresaTag.OTROS, "error", "ResourceNotFoundException").count()).isEqualTo(1);
+    }
+
+    @Test
+    void operacionesSinEmpresaDebenUsarUnValorFijo() {
+        proxy(new CatalogoFalso()).contar();
+
+        assertThat(timer("contar", EmpresaTag.NINGUNA, "exito", "none").count()).isEqualTo(1);
+    }
+
+    @Test
+    void proveedoresDeCorreoDebenMedirseComoIntegracion() {
+        MailService mailService = proxy(new CorreoFalso());
+
+        mailService.sendInventoryEmail("a@b.com", "Asunto", "Cuerpo", new byte[0]);
+
+        Timer timer = meterRegistry.get(OperacionesMetricsAspect.INTEGRACION)
+                .tags("integracion", "correo", "proveedor", "CorreoFalso", "outcome", "exito")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(meterRegistry.find(OperacionesMetricsAspect.SERVICIO).timers()).isEmpty();
+    }
+
+    @Test
+    void empresaTagDebeLimitarLosValoresDistintos() {
+        EmpresaTag tag = new EmpresaTag(nit -> true, 2, Duration.ofMinutes(1));
+
+        assertThat(tag.valor("1")).isEqualTo("1");
+        assertThat(tag.valor("2")).isEqualTo("2");
+        assertThat(tag.valor("3")).isEqualTo(EmpresaTag.OTROS);
+        assertThat(tag.valor("1")).isEqualTo("1");
+        assertThat(tag.valor(null)).isEqualTo(EmpresaTag.NINGUNA);
+    }
+
+    @Test
+    void empresaTagNoDebeGastarSeriesEnNitsInexistentes() {
+        List<String> consultados = new ArrayList<>();
+        EmpresaTag tag = new EmpresaTag(nit -> {
+            consultados.add(nit);
+            return nit.startsWith("9");
+        }, 2, Duration.ofMinutes(1));
+
+        assertThat(tag.valor("basura-1")).isEqualTo(EmpresaTag.OTROS);
+        assertThat(tag.valor("basura-2")).isEqualTo(EmpresaTag.OTROS);
+        assertThat(tag.valor("basura-1")).isEqualTo(EmpresaTag.OTROS);
+        assertThat(tag.valor("900")).isEqualTo("900");
+        assertThat(tag.valor("901")).isEqualTo("901");
+        assertThat(consultados).containsExactly("basura-1", "basura-2", "900", "901");
+    }
+
+    private Timer timer(String operacion, String empresa, String outcome, String exception) {
+        return meterRegistry.get(OperacionesMetricsAspect.SERVICIO)
+                .tags("servicio", "CatalogoFalso", "operacion", operacion, EmpresaTag.NOMBRE, empresa,
+                        "outcome", outcome, "exception", exception)
+                .timer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    record Solicitud(String empresaNit, String codigo) {
+    }
+
+    @Service
+    static class CatalogoFalso {
+
+        public int listar(String empresaNit) {
+            if ("404".equals(empresaNit)) {
+                throw new ResourceNotFoundException("Empresa no encontrada");
+            }
+            return 1;
+        }
+
+        public String crear(Solicitud solicitud) {
+            return solicitud.codigo();
+        }
+
+        public long contar() {
+            return 0;
+        }
+    }
+
+    static class CorreoFalso implements MailService {
+
+        @Override
+        public void sendInventoryEmail(String to, String subject, String body, byte[] attachment) {
+        }
+    }
+}
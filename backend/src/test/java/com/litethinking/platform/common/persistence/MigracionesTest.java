@@ -0,0 +1,130 @@
+package com.litethinking.platform.common.persistence;
+
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Applies the Flyway migrations to the shared H2 test database in PostgreSQL mode; Hibernate then
+ * validates the entities against the result. {@link MigracionesPostgresTest} runs the same checks on PostgreSQL.
+ */
+@PruebaJpa
+class MigracionesTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Test
+    void debeAplicarTodasLasMigraciones() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .contains("1", "2");
+    }
+
+    @Test
+    void unaBaseCreadaConDdlAutoDebeRecibirLasTablasPosterioresAV1() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migraciones-baseline;DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__esquema_inicial.sql"));
+        }
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .placeholders(Map.of("zona_horaria", "America/Bogota"))
+                .load()
+                .migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from catalogo_versiones", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from inventory_email_jobs", Integer.class)).isZero();
+    }
+
+    @Test
+    void losClientesQueSoloDifierenEnMayusculasDebenFusionarseConSusOrdenes() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migraciones-clientes;DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        migrar(dataSource, "6");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into empresas (nit, nombre, direccion, telefono) values ('930000009', 'E', 'C', '1')");
+        UUID conservado = cliente(jdbcTemplate, "Ana@Dominio.com");
+        UUID fusionado = cliente(jdbcTemplate, "ana@dominio.com ");
+        UUID otro = cliente(jdbcTemplate, "otro@dominio.com");
+        UUID ordenConservada = orden(jdbcTemplate, conservado);
+        UUID ordenFusionada = orden(jdbcTemplate, fusionado);
+        UUID ordenOtra = orden(jdbcTemplate, otro);
+
+        migrar(dataSource, "latest");
+
+        assertThat(jdbcTemplate.queryForList("select correo from clientes order by correo", String.class))
+                .containsExactly("ana@dominio.com", "otro@dominio.com");
+        assertThat(clienteDe(jdbcTemplate, ordenConservada)).isEqualTo(conservado);
+        assertThat(clienteDe(jdbcTemplate, ordenFusionada)).isEqualTo(conservado);
+        assertThat(clienteDe(jdbcTemplate, ordenOtra)).isEqualTo(otro);
+    }
+
+    @Test
+    void debeRechazarCodigosDeProductoDuplicadosPorEmpresa() {
+        Empresa empresa = empresaRepository.save(new Empresa("930000001", "Migraciones", "Calle 1", "555"));
+        Empresa otra = empresaRepository.save(new Empresa("930000002", "Otra", "Calle 2", "556"));
+        productoRepository.saveAndFlush(new Producto("SKU-1", "Producto", null, empresa));
+        productoRepository.saveAndFlush(new Producto("SKU-1", "Mismo codigo en otra empresa", null, otra));
+
+        assertThatThrownBy(() -> productoRepository.saveAndFlush(new Producto("SKU-1", "Duplicado", null, empresa)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static void migrar(DriverManagerDataSource dataSource, String version) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .target(version)
+                .placeholders(Map.of("zona_horaria", "America/Bogota"))
+                .load()
+                .migrate();
+    }
+
+    private static UUID cliente(JdbcTemplate jdbcTemplate, String correo) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("insert into clientes (id, correo, nombre) values (?, ?, 'Cliente')", id, correo);
+        return id;
+    }
+
+    private static UUID orden(JdbcTemplate jdbcTemplate, UUID clienteId) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                insert into ordenes (id, empresa_nit, cliente_id, fecha, total, item_count)
+                values (?, '930000009', ?, current_timestamp, 0, 0)
+                """, id, clienteId);
+        return id;
+    }
+
+    private static UUID clienteDe(JdbcTemplate jdbcTemplate, UUID ordenId) {
+        return jdbcTemplate.queryForObject("select cliente_id from ordenes where id = ?", UUID.class, ordenId);
+    }
+}
@@ -0,0 +1,29 @@
+package com.litethinking.platform.common.persistence;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * JPA slice test against the Flyway-migrated H2 database in PostgreSQL mode. Every test shares the same
+ * database and properties, so classes with the same imports reuse one Spring context; tests must
+ * therefore only assert on rows they created. Extra properties go in a {@code @TestPropertySource}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pruebas-jpa;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public @interface PruebaJpa {
+}
@@ -0,0 +1,25 @@
+package com.litethinking.platform.common.persistence;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link PruebaJpa} without the test transaction: the code under test commits on its own, as it does in
+ * production, so concurrent callers race on the real rows and constraints. Committed data stays in the
+ * shared database, so such tests use keys no other test uses.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@PruebaJpa
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public @interface PruebaJpaSinRollback {
+}
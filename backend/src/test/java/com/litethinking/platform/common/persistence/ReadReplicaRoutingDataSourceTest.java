@@ -0,0 +1,127 @@
+package com.litethinking.platform.common.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between in-memory H2 databases that each hold a row naming themselves.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica1 = database("replica-1");
+    private final InterruptibleDataSource replica2 = new InterruptibleDataSource(database("replica-2"));
+
+    private ReadReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escritura;
+    private TransactionTemplate lectura;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadReplicaRoutingDataSource(primary, List.of(replica1, replica2));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escritura = new TransactionTemplate(transactionManager);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    @Test
+    void lasEscriturasYLasConsultasSinTransaccionVanAlPrimario() {
+        String escrito = escritura.execute(status -> origen());
+
+        assertThat(escrito).isEqualTo("primary");
+        assertThat(origen()).isEqualTo("primary");
+    }
+
+    @Test
+    void lasTransaccionesDeSoloLecturaSeRepartenEntreReplicas() {
+        List<String> origenes = IntStream.range(0, 4)
+                .mapToObj(i -> lectura.execute(status -> origen()))
+                .toList();
+
+        assertThat(origenes).containsExactlyInAnyOrder("replica-1", "replica-2", "replica-1", "replica-2");
+    }
+
+    @Test
+    void unaReplicaCaidaSaleDeRotacionHastaQueElChequeoLaRecupera() {
+        replica2.caida = true;
+
+        List<String> origenes = IntStream.range(0, 4)
+                .mapToObj(i -> lectura.execute(status -> origen()))
+                .toList();
+        assertThat(origenes).containsOnly("replica-1");
+        assertThat(routing.replicasSanas()).containsExactly("replica-1");
+
+        replica2.caida = false;
+        routing.verificarReplicas();
+        assertThat(routing.replicasSanas()).containsExactly("replica-1", "replica-2");
+    }
+
+    @Test
+    void sinReplicasSanasLasLecturasVanAlPrimario() {
+        ReadReplicaRoutingDataSource soloCaidas = new ReadReplicaRoutingDataSource(primary,
+                List.of(new InterruptibleDataSource(replica1, true)));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(soloCaidas);
+        TransactionTemplate soloLectura = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        soloLectura.setReadOnly(true);
+
+        String origen = soloLectura.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select nombre from origen", String.class));
+
+        assertThat(origen).isEqualTo("primary");
+        assertThat(soloCaidas.replicasSanas()).isEmpty();
+    }
+
+    private String origen() {
+        return jdbcTemplate.queryForObject("select nombre from origen", String.class);
+    }
+
+    private static DataSource database(String nombre) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + nombre + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists origen (nombre varchar(20))");
+        jdbc.update("delete from origen");
+        jdbc.update("insert into origen (nombre) values (?)", nombre);
+        return dataSource;
+    }
+
+    private static final class InterruptibleDataSource extends DelegatingDataSource {
+
+        private volatile boolean caida;
+
+        private InterruptibleDataSource(DataSource target) {
+            this(target, false);
+        }
+
+        private InterruptibleDataSource(DataSource target, boolean caida) {
+            super(target);
+            this.caida = caida;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (caida) {
+                throw new SQLException("replica no disponible");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.litethinking.platform.inventory.report;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryPdfGeneratorTest {
+
+    private final InventoryPdfGenerator generator = new InventoryPdfGenerator();
+    private final Empresa empresa = new Empresa("123", "Lite", "Direccion", "555");
+
+    @Test
+    void writerDebeProducirElMismoContenidoAlEscribirPorBloques() throws Exception {
+        List<Producto> productos = IntStream.range(0, 300)
+                .mapToObj(i -> new Producto(String.format("CODE-%03d", i), "Producto " + i, null, empresa))
+                .toList();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InventoryPdfWriter writer = generator.open(empresa, output)) {
+            for (int i = 0; i < productos.size(); i += 50) {
+                writer.write(productos.subList(i, i + 50));
+            }
+        }
+
+        PdfReader streamed = new PdfReader(output.toByteArray());
+        PdfReader buffered = new PdfReader(generator.build(empresa, productos));
+        assertThat(streamed.getNumberOfPages()).isGreaterThan(1).isEqualTo(buffered.getNumberOfPages());
+        String lastPage = PdfTextExtractor.getTextFromPage(streamed, streamed.getNumberOfPages());
+        assertThat(lastPage).contains("CODE-299");
+        // The header row is repeated on every page.
+        assertThat(lastPage).contains("Codigo");
+    }
+
+    @Test
+    void buildDebeGenerarPdfSinProductos() throws Exception {
+        PdfReader reader = new PdfReader(generator.build(empresa, List.of()));
+
+        assertThat(PdfTextExtractor.getTextFromPage(reader, 1)).contains("Empresa: Lite (123)");
+    }
+}
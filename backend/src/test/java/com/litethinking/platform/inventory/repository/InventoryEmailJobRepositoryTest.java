@@ -0,0 +1,62 @@
+package com.litethinking.platform.inventory.repository;
+
+import com.litethinking.platform.common.persistence.PruebaJpa;
+import com.litethinking.platform.inventory.domain.InventoryEmailJob;
+import com.litethinking.platform.inventory.domain.InventoryEmailJobStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PruebaJpa
+class InventoryEmailJobRepositoryTest {
+
+    @Autowired
+    private InventoryEmailJobRepository repository;
+
+    @Test
+    void claimDebeAdjudicarElTrabajoUnaSolaVezHastaQueExpireElLease() {
+        UUID id = repository.saveAndFlush(new InventoryEmailJob("123", "correo@dominio.com")).getId();
+        Instant now = Instant.now().plusSeconds(1);
+        Instant leaseUntil = now.plus(Duration.ofMinutes(10));
+
+        assertThat(repository.findRunnableIds(now, PageRequest.of(0, 10))).containsExactly(id);
+        assertThat(repository.claim(id, now, leaseUntil)).isEqualTo(1);
+        assertThat(repository.claim(id, now, leaseUntil)).isZero();
+        assertThat(repository.findRunnableIds(now, PageRequest.of(0, 10))).isEmpty();
+
+        Instant afterLease = leaseUntil.plusSeconds(1);
+        assertThat(repository.findRunnableIds(afterLease, PageRequest.of(0, 10))).containsExactly(id);
+        assertThat(repository.claim(id, afterLease, afterLease.plus(Duration.ofMinutes(10)))).isEqualTo(1);
+        assertThat(repository.findById(id).orElseThrow().getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void completeSoloDebeRegistrarElResultadoMientrasSeConserveElLease() {
+        UUID id = repository.saveAndFlush(new InventoryEmailJob("123", "correo@dominio.com")).getId();
+        // Leases are compared for equality, so they carry no more precision than the column keeps.
+        Instant now = Instant.now().plusSeconds(1).truncatedTo(ChronoUnit.MICROS);
+        Instant primerLease = now.plus(Duration.ofMinutes(10));
+        Instant segundoLease = primerLease.plus(Duration.ofMinutes(10));
+        repository.claim(id, now, primerLease);
+        repository.claim(id, primerLease.plusSeconds(1), segundoLease);
+
+        assertThat(repository.existsByIdAndLockedUntil(id, primerLease)).isFalse();
+        assertThat(repository.complete(id, primerLease, InventoryEmailJobStatus.FAILED, now, null, "tarde", now))
+                .isZero();
+        assertThat(repository.findById(id).orElseThrow().getStatus()).isEqualTo(InventoryEmailJobStatus.PROCESSING);
+
+        assertThat(repository.complete(id, segundoLease, InventoryEmailJobStatus.SENT, now, "/tmp/inv.pdf", null, now))
+                .isEqualTo(1);
+        InventoryEmailJob job = repository.findById(id).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(InventoryEmailJobStatus.SENT);
+        assertThat(job.getLockedUntil()).isNull();
+        assertThat(job.getAttempts()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,141 @@
+package com.litethinking.platform.inventory.service;
+
+import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.inventory.domain.InventoryEmailJob;
+import com.litethinking.platform.inventory.domain.InventoryEmailJobStatus;
+import com.litethinking.platform.inventory.repository.InventoryEmailJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryEmailWorkerTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Instant LEASE_UNTIL = NOW.plus(Duration.ofMinutes(10));
+    private static final RetryPolicy POLICY = new RetryPolicy(2, Duration.ofSeconds(30), 2.0, Duration.ofMinutes(5));
+
+    @Mock
+    private InventoryEmailJobRepository jobRepository;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private MailService mailService;
+
+    private InventoryEmailWorker worker;
+    private InventoryEmailJob job;
+    private UUID jobId;
+
+    @BeforeEach
+    void setUp() {
+        worker = new InventoryEmailWorker(jobRepository, inventoryService, mailService, 2,
+                Duration.ofMinutes(10), Clock.fixed(NOW, ZoneOffset.UTC));
+        job = new InventoryEmailJob("123", "correo@dominio.com");
+        jobId = UUID.randomUUID();
+        ReflectionTestUtils.setField(job, "id", jobId);
+        ReflectionTestUtils.setField(job, "attempts", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.destroy();
+    }
+
+    @Test
+    void procesarDebeMarcarEnviadoCuandoLaEntregaTermina() {
+        InventoryService.Pdf pdf = new InventoryService.Pdf(7, UUID.randomUUID(), new byte[]{1, 2, 3});
+        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(inventoryService.generarPdf("123")).thenReturn(pdf);
+        when(jobRepository.existsByIdAndLockedUntil(jobId, LEASE_UNTIL)).thenReturn(true);
+        when(inventoryService.entregarInventario("123", "correo@dominio.com", pdf)).thenReturn("/tmp/inventory-123.pdf");
+
+        worker.procesar(jobId, LEASE_UNTIL);
+
+        verify(jobRepository).complete(jobId, LEASE_UNTIL, InventoryEmailJobStatus.SENT, job.getNextAttemptAt(),
+                "/tmp/inventory-123.pdf", null, NOW);
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void procesarNoDebeEntregarSiOtroWorkerTomoElTrabajo() {
+        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(inventoryService.generarPdf("123")).thenReturn(new InventoryService.Pdf(7, UUID.randomUUID(), new byte[]{1}));
+        when(jobRepository.existsByIdAndLockedUntil(jobId, LEASE_UNTIL)).thenReturn(false);
+
+        worker.procesar(jobId, LEASE_UNTIL);
+
+        verify(inventoryService, never()).entregarInventario(any(), any(), any());
+        verify(jobRepository, never()).complete(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void procesarDebeReprogramarConBackoffSegunPoliticaDelProveedor() {
+        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(inventoryService.generarPdf("123")).thenReturn(new InventoryService.Pdf(7, UUID.randomUUID(), new byte[]{1}));
+        when(jobRepository.existsByIdAndLockedUntil(jobId, LEASE_UNTIL)).thenReturn(true);
+        when(inventoryService.entregarInventario(eq("123"), any(), any())).thenThrow(new IllegalStateException("SMTP caido"));
+        when(mailService.retryPolicy()).thenReturn(POLICY);
+
+        worker.procesar(jobId, LEASE_UNTIL);
+
+        verify(jobRepository).complete(jobId, LEASE_UNTIL, InventoryEmailJobStatus.PENDING, NOW.plusSeconds(30),
+                null, "SMTP caido", NOW);
+    }
+
+    @Test
+    void procesarDebeMarcarFallidoAlAgotarReintentos() {
+        ReflectionTestUtils.setField(job, "attempts", 2);
+        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(inventoryService.generarPdf("123")).thenThrow(new IllegalStateException("Sin memoria"));
+        when(mailService.retryPolicy()).thenReturn(POLICY);
+
+        worker.procesar(jobId, LEASE_UNTIL);
+
+        verify(jobRepository).complete(eq(jobId), eq(LEASE_UNTIL), eq(InventoryEmailJobStatus.FAILED), any(),
+                eq(null), eq("Sin memoria"), eq(NOW));
+    }
+
+    @Test
+    void procesarNoDebeReintentarSiLaEmpresaYaNoExiste() {
+        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(inventoryService.generarPdf("123")).thenThrow(new ResourceNotFoundException("Empresa no encontrada"));
+
+        worker.procesar(jobId, LEASE_UNTIL);
+
+        verify(jobRepository).complete(eq(jobId), eq(LEASE_UNTIL), eq(InventoryEmailJobStatus.FAILED), any(),
+                eq(null), eq("Empresa no encontrada"), eq(NOW));
+        verify(mailService, never()).retryPolicy();
+    }
+
+    @Test
+    void pollSoloDebeEjecutarTrabajosReclamados() {
+        UUID otro = UUID.randomUUID();
+        when(jobRepository.findRunnableIds(eq(NOW), any())).thenReturn(List.of(jobId, otro));
+        when(jobRepository.claim(jobId, NOW, LEASE_UNTIL)).thenReturn(1);
+        when(jobRepository.claim(otro, NOW, LEASE_UNTIL)).thenReturn(0);
+
+        worker.poll();
+
+        verify(jobRepository, timeout(1000)).findById(jobId);
+        verify(jobRepository, never()).findById(otro);
+    }
+}
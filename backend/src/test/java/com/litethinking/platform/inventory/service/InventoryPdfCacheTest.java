@@ -0,0 +1,48 @@
+package com.litethinking.platform.inventory.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryPdfCacheTest {
+
+    private final InventoryPdfCache cache = new InventoryPdfCache(DataSize.ofKilobytes(64), DataSize.ofBytes(4));
+
+    @Test
+    void captureDebeCopiarLoEscritoByteAByteYEnBloques() throws Exception {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        InventoryPdfCache.Capture capture = cache.capture(destino);
+
+        capture.write('%');
+        capture.write(new byte[]{'P', 'D', 'F'}, 0, 3);
+
+        assertThat(destino.toByteArray()).containsExactly('%', 'P', 'D', 'F');
+        assertThat(capture.captured()).hasValueSatisfying(copia -> assertThat(copia).containsExactly('%', 'P', 'D', 'F'));
+        assertThat(capture.bytes()).isEqualTo(4);
+    }
+
+    @Test
+    void captureDebeDescartarLaCopiaAlSuperarElLimitePorEntrada() throws Exception {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        InventoryPdfCache.Capture capture = cache.capture(destino);
+
+        capture.write(new byte[]{1, 2, 3, 4}, 0, 4);
+        capture.write(5);
+
+        assertThat(destino.size()).isEqualTo(5);
+        assertThat(capture.captured()).isEmpty();
+        assertThat(capture.bytes()).isEqualTo(5);
+    }
+
+    @Test
+    void getSoloDebeDevolverElPdfDeLaVersionVigente() {
+        cache.put("123", 2, new byte[]{1});
+        cache.put("123", 1, new byte[]{2});
+
+        assertThat(cache.get("123", 2)).hasValueSatisfying(pdf -> assertThat(pdf).containsExactly(1));
+        assertThat(cache.get("123", 1)).isEmpty();
+    }
+}
@@ -2,23 +2,46 @@ package com.litethinking.platform.inventory.service;
 
 import com.litethinking.platform.catalog.domain.Empresa;
 import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.dto.RevisionCatalogo;
 import com.litethinking.platform.catalog.repository.EmpresaRepository;
 import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.catalog.service.CatalogoVersionService;
+import com.litethinking.platform.common.metrics.EmpresaTag;
+import com.litethinking.platform.inventory.domain.InventoryEmailJob;
+import com.litethinking.platform.inventory.domain.InventoryEmailJobStatus;
+import com.litethinking.platform.inventory.dto.InventoryEmailJobResponse;
 import com.litethinking.platform.inventory.report.InventoryPdfGenerator;
+import com.litethinking.platform.inventory.repository.InventoryEmailJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,12 +51,24 @@ class InventoryServiceTest {
     private EmpresaRepository empresaRepository;
     @Mock
     private ProductoRepository productoRepository;
-    @Mock
-    private InventoryPdfGenerator pdfGenerator;
+    @Spy
+    private InventoryPdfGenerator pdfGenerator = new InventoryPdfGenerator();
     @Mock
     private MailService mailService;
     @Mock
     private DocumentStorageService documentStorageService;
+    @Mock
+    private InventoryEmailJobRepository jobRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private CatalogoVersionService catalogoVersionService;
+    @Spy
+    private InventoryPdfCache pdfCache = new InventoryPdfCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(512));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private InventoryPdfMetrics pdfMetrics = new InventoryPdfMetrics(meterRegistry,
+            new EmpresaTag(mock(EmpresaRepository.class), 100, Duration.ofMinutes(1)));
 
     @InjectMocks
     private InventoryService inventoryService;
@@ -43,23 +78,102 @@ class InventoryServiceTest {
     @BeforeEach
     void setup() {
         empresa = new Empresa("123", "Lite", "Direccion", "555");
+        lenient().when(catalogoVersionService.revision(any())).thenReturn(RevisionCatalogo.INICIAL);
+    }
+
+    @Test
+    void enviarInventarioDebeEncolarTrabajoSinGenerarPdf() {
+        when(empresaRepository.findById("123")).thenReturn(Optional.of(empresa));
+        when(jobRepository.save(any(InventoryEmailJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InventoryEmailJobResponse job = inventoryService.enviarInventario("123", "correo@dominio.com");
+
+        assertThat(job.status()).isEqualTo(InventoryEmailJobStatus.PENDING);
+        assertThat(job.emailDestino()).isEqualTo("correo@dominio.com");
+        verifyNoInteractions(pdfGenerator, documentStorageService, mailService);
+    }
+
+    @Test
+    void enviarInventarioDebeFallarCuandoEmpresaNoExiste() {
+        when(empresaRepository.findById("404")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> inventoryService.enviarInventario("404", "correo@dominio.com"))
+                .isInstanceOf(com.litethinking.platform.common.exception.ResourceNotFoundException.class);
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void escribirPdfDebeLeerProductosPorCursorYLimpiarElContextoPorBloques() throws Exception {
+        when(empresaRepository.findById("123")).thenReturn(Optional.of(empresa));
+        when(productoRepository.streamByEmpresaNit("123")).thenReturn(IntStream.range(0, 250)
+                .mapToObj(i -> new Producto("CODE-" + i, "Producto " + i, "Desc", empresa)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        inventoryService.escribirPdf("123", output);
+
+        assertThat(new String(output.toByteArray(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        verify(entityManager, times(3)).clear();
+        assertThat(meterRegistry.get(InventoryPdfMetrics.PRODUCTOS).summary().totalAmount()).isEqualTo(250);
+        assertThat(meterRegistry.get(InventoryPdfMetrics.BYTES).tag("origen", "renderizado").summary().totalAmount())
+                .isEqualTo(output.size());
+        assertThat(meterRegistry.get(InventoryPdfMetrics.RENDERIZADO).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void escribirPdfDebeReutilizarPdfMientrasLaVersionDelCatalogoNoCambie() throws Exception {
+        when(empresaRepository.findById("123")).thenReturn(Optional.of(empresa));
+        when(productoRepository.streamByEmpresaNit("123"))
+                .thenAnswer(invocation -> Stream.of(new Producto("CODE", "Producto", "Desc", empresa)));
+        RevisionCatalogo v4 = new RevisionCatalogo(4, UUID.randomUUID());
+        RevisionCatalogo v5 = new RevisionCatalogo(5, UUID.randomUUID());
+        when(catalogoVersionService.revision("123")).thenReturn(v4, v4, v5);
+
+        InventoryService.Pdf primero = inventoryService.generarPdf("123");
+        InventoryService.Pdf cacheado = inventoryService.generarPdf("123");
+        InventoryService.Pdf nuevo = inventoryService.generarPdf("123");
+
+        assertThat(cacheado.content()).isEqualTo(primero.content());
+        assertThat(List.of(primero.version(), cacheado.version(), nuevo.version())).containsExactly(4L, 4L, 5L);
+        assertThat(List.of(primero.revision(), cacheado.revision(), nuevo.revision()))
+                .containsExactly(v4.revision(), v4.revision(), v5.revision());
+        verify(productoRepository, times(2)).streamByEmpresaNit("123");
+        assertThat(meterRegistry.get(InventoryPdfMetrics.BYTES).tag("origen", "cache").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(InventoryPdfMetrics.RENDERIZADO).timer().count()).isEqualTo(2);
     }
 
     @Test
-    void enviarInventarioDebeGenerarPdfGuardarYEnviarCorreo() {
-        Producto producto = new Producto("CODE", "Producto", "Desc", empresa);
-        byte[] pdf = new byte[]{1, 2, 3};
+    void generarPdfDeUnCatalogoSinRevisionDebeUsarUnaRevisionNueva() {
+        when(empresaRepository.findById("123")).thenReturn(Optional.of(empresa));
+        when(productoRepository.streamByEmpresaNit("123")).thenAnswer(invocation -> Stream.<Producto>empty());
 
+        InventoryService.Pdf primero = inventoryService.generarPdf("123");
+        InventoryService.Pdf segundo = inventoryService.generarPdf("123");
+
+        assertThat(primero.version()).isZero();
+        assertThat(primero.revision()).isNotNull().isNotEqualTo(segundo.revision());
+    }
+
+    @Test
+    void etagPdfDebeCambiarConLaVersionDelCatalogo() {
+        when(empresaRepository.findById("123")).thenReturn(Optional.of(empresa));
+        when(catalogoVersionService.obtener("123")).thenReturn(1L, 2L);
+
+        assertThat(inventoryService.etagPdf("123")).isEqualTo("W/\"inventory-123-1\"");
+        assertThat(inventoryService.etagPdf("123")).isEqualTo("W/\"inventory-123-2\"");
+    }
+
+    @Test
+    void entregarInventarioDebeGuardarYEnviarCorreo() {
+        InventoryService.Pdf pdf = new InventoryService.Pdf(9, UUID.randomUUID(), new byte[]{1, 2, 3});
         when(empresaRepository.findById("123")).thenReturn(Optional.of(empresa));
-        when(productoRepository.findByEmpresaNit("123")).thenReturn(List.of(producto));
-        when(pdfGenerator.build(empresa, List.of(producto))).thenReturn(pdf);
-        when(documentStorageService.storeInventoryPdf("123", pdf)).thenReturn("/tmp/inventory-123.pdf");
+        when(documentStorageService.storeInventoryPdf("123", 9, pdf.revision(), pdf.content()))
+                .thenReturn("/tmp/inventory-123-v9.pdf");
 
-        inventoryService.enviarInventario("123", "correo@dominio.com");
+        String location = inventoryService.entregarInventario("123", "correo@dominio.com", pdf);
 
-        verify(pdfGenerator).build(empresa, List.of(producto));
-        verify(documentStorageService).storeInventoryPdf("123", pdf);
-        verify(mailService).sendInventoryEmail(eq("correo@dominio.com"), any(), any(), eq(pdf));
+        assertThat(location).isEqualTo("/tmp/inventory-123-v9.pdf");
+        verify(documentStorageService).storeInventoryPdf("123", 9, pdf.revision(), pdf.content());
+        verify(mailService).sendInventoryEmail(eq("correo@dominio.com"), any(), any(), eq(pdf.content()));
     }
 
     @Test
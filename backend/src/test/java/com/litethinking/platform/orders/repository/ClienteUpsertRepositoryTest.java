@@ -0,0 +1,108 @@
+package com.litethinking.platform.orders.repository;
+
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import com.litethinking.platform.orders.domain.Cliente;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The H2 merge path of {@link ClienteUpsertRepository}; {@link ClienteUpsertRepositoryPostgresTest} runs
+ * the same checks on the PostgreSQL {@code on conflict} path.
+ */
+@PruebaJpaSinRollback
+class ClienteUpsertRepositoryTest {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void upsertDebeCrearElClienteYLuegoReutilizarlo() {
+        String correo = correo();
+
+        UUID creado = upsert("Ana", correo);
+        UUID mismo = upsert("Ana", correo);
+
+        assertThat(mismo).isEqualTo(creado);
+        assertThat(clienteRepository.findByCorreo(correo)).get()
+                .extracting(Cliente::getId, Cliente::getNombre)
+                .containsExactly(creado, "Ana");
+    }
+
+    @Test
+    void upsertDebeRenombrarAlClienteExistente() {
+        String correo = correo();
+        UUID creado = upsert("Ana", correo);
+
+        assertThat(upsert("Ana Maria", correo)).isEqualTo(creado);
+        assertThat(clienteRepository.findById(creado)).get().extracting(Cliente::getNombre).isEqualTo("Ana Maria");
+    }
+
+    @Test
+    void upsertsConcurrentesDelMismoCorreoDebenCrearUnSoloCliente() throws Exception {
+        int hilos = 8;
+        String correo = correo();
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        List<Future<UUID>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(executor.submit(() -> {
+                    salida.await();
+                    return upsert("Concurrente", correo);
+                }));
+            }
+            salida.countDown();
+            Set<UUID> ids = new HashSet<>();
+            for (Future<UUID> resultado : resultados) {
+                ids.add(resultado.get());
+            }
+            assertThat(ids).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from clientes where correo = ?", Integer.class, correo))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void losCorreosSeGuardanNormalizados() {
+        String correo = correo();
+        Cliente cliente = clienteRepository.save(new Cliente("Mayusculas", "  " + correo.toUpperCase() + " "));
+
+        assertThat(cliente.getCorreo()).isEqualTo(correo);
+        assertThatThrownBy(() -> jdbcTemplate.update("insert into clientes (id, nombre, correo) values (?, ?, ?)",
+                UUID.randomUUID(), "Sin normalizar", "Otro" + correo))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private UUID upsert(String nombre, String correo) {
+        return new TransactionTemplate(transactionManager).execute(status -> clienteRepository.upsert(nombre, correo));
+    }
+
+    private static String correo() {
+        return "cliente-" + UUID.randomUUID() + "@dominio.com";
+    }
+}
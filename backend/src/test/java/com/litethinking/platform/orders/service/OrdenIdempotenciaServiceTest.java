@@ -0,0 +1,217 @@
+package com.litethinking.platform.orders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.common.exception.ResourceAlreadyExistsException;
+import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import com.litethinking.platform.orders.dto.OrdenItemRequest;
+import com.litethinking.platform.orders.dto.OrdenRequest;
+import com.litethinking.platform.orders.repository.OrdenIdempotenciaRepository;
+import com.litethinking.platform.orders.repository.OrdenRepository;
+import com.litethinking.platform.orders.repository.VentasRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@PruebaJpaSinRollback
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrdenService.class, VentasService.class, VentasRollupRepository.class, OrdenIdempotenciaRepository.class})
+class OrdenIdempotenciaServiceTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Autowired
+    private OrdenService ordenService;
+
+    @Autowired
+    private OrdenIdempotenciaRepository idempotenciaRepository;
+
+    @Autowired
+    private OrdenRepository ordenRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Reloj reloj = new Reloj(Instant.parse("2024-03-01T12:00:00Z"));
+    private OrdenIdempotenciaService service;
+    private Empresa empresa;
+    private UUID producto;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrdenIdempotenciaService(ordenService, idempotenciaRepository, objectMapper, transactionManager,
+                TTL, reloj);
+        String nit = String.valueOf(950_000_000L + ThreadLocalRandom.current().nextInt(1_000_000));
+        empresa = empresaRepository.save(new Empresa(nit, "Idempotencia", "Calle 1", "555"));
+        producto = productoRepository.save(new Producto("IDE", "Teclado", null, empresa)).getId();
+    }
+
+    @Test
+    void reintentoConLaMismaClaveDebeDevolverLaOrdenOriginalSinCrearOtra() {
+        OrdenRequest request = orden(2);
+
+        OrdenIdempotenciaService.Resultado primero = service.crear(request, "admin", "clave-1");
+        OrdenIdempotenciaService.Resultado reintento = service.crear(request, "admin", "clave-1");
+
+        assertThat(primero.repetida()).isFalse();
+        assertThat(reintento.repetida()).isTrue();
+        assertThat(reintento.orden()).isEqualTo(primero.orden());
+        assertThat(ordenes()).isEqualTo(1);
+    }
+
+    @Test
+    void laClaveDebeSerPropiaDeCadaUsuario() {
+        service.crear(orden(1), "admin", "clave-compartida");
+        OrdenIdempotenciaService.Resultado otro = service.crear(orden(1), "otro", "clave-compartida");
+
+        assertThat(otro.repetida()).isFalse();
+        assertThat(ordenes()).isEqualTo(2);
+    }
+
+    @Test
+    void reutilizarLaClaveConOtraSolicitudDebeFallar() {
+        service.crear(orden(1), "admin", "clave-2");
+
+        assertThatThrownBy(() -> service.crear(orden(5), "admin", "clave-2"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ordenes()).isEqualTo(1);
+    }
+
+    @Test
+    void unaCreacionFallidaNoDebeConsumirLaClave() {
+        OrdenRequest invalida = new OrdenRequest(empresa.getNit(), "cliente@dominio.com", "Cliente",
+                List.of(new OrdenItemRequest(UUID.randomUUID(), 1, BigDecimal.TEN)));
+
+        assertThatThrownBy(() -> service.crear(invalida, "admin", "clave-3"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(service.crear(orden(1), "admin", "clave-3").repetida()).isFalse();
+        assertThat(ordenes()).isEqualTo(1);
+    }
+
+    @Test
+    void laClaveDebeVencerTrasElTtlYPurgarse() {
+        service.crear(orden(1), "admin", "clave-4");
+        reloj.avanzar(TTL);
+
+        assertThat(service.crear(orden(1), "admin", "clave-4").repetida()).isFalse();
+        assertThat(ordenes()).isEqualTo(2);
+
+        reloj.avanzar(TTL);
+        service.purgar();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from ordenes_idempotencia where clave = 'clave-4'",
+                Integer.class)).isZero();
+    }
+
+    @Test
+    void duplicadosConcurrentesDebenCrearUnaSolaOrden() throws Exception {
+        int hilos = 8;
+        OrdenRequest request = orden(3);
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        List<Future<OrdenIdempotenciaService.Resultado>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(executor.submit(() -> {
+                    salida.await();
+                    return service.crear(request, "admin", "clave-5");
+                }));
+            }
+            salida.countDown();
+            int creadas = 0;
+            for (Future<OrdenIdempotenciaService.Resultado> resultado : resultados) {
+                try {
+                    if (!resultado.get().repetida()) {
+                        creadas++;
+                    }
+                } catch (ExecutionException ex) {
+                    // Losers still inside the winner's transaction are told to retry.
+                    assertThat(ex.getCause()).isInstanceOfAny(ResourceAlreadyExistsException.class,
+                            DataIntegrityViolationException.class);
+                }
+            }
+            assertThat(creadas).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ordenes()).isEqualTo(1);
+        assertThat(service.crear(request, "admin", "clave-5").repetida()).isTrue();
+    }
+
+    private OrdenRequest orden(int cantidad) {
+        return new OrdenRequest(empresa.getNit(), "cliente@dominio.com", "Cliente",
+                List.of(new OrdenItemRequest(producto, cantidad, BigDecimal.valueOf(100))));
+    }
+
+    private long ordenes() {
+        return ordenRepository.findByEmpresaNit(empresa.getNit()).size();
+    }
+
+    private static final class Reloj extends Clock {
+
+        private volatile Instant ahora;
+
+        Reloj(Instant ahora) {
+            this.ahora = ahora;
+        }
+
+        void avanzar(Duration duracion) {
+            ahora = ahora.plus(duracion);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return ahora;
+        }
+    }
+}
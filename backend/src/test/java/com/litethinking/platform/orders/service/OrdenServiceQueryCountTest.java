@@ -0,0 +1,161 @@
+package com.litethinking.platform.orders.service;
+
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.common.api.CursorPage;
+import com.litethinking.platform.common.exception.ResourceNotFoundException;
+import com.litethinking.platform.common.persistence.PruebaJpa;
+import com.litethinking.platform.orders.dto.OrdenItemRequest;
+import com.litethinking.platform.orders.dto.OrdenRequest;
+import com.litethinking.platform.orders.dto.OrdenResponse;
+import com.litethinking.platform.orders.dto.OrdenResumen;
+import com.litethinking.platform.orders.repository.VentasRollupRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Benchmark-style check of the order creation path: the number of statements issued by
+ * {@link OrdenService#crear} must not grow with the number of line items.
+ */
+@PruebaJpa
+@Import({OrdenService.class, VentasService.class, VentasRollupRepository.class})
+class OrdenServiceQueryCountTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrdenServiceQueryCountTest.class);
+    private static final int[] ORDER_SIZES = {1, 10, 50, 200};
+
+    @Autowired
+    private OrdenService ordenService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Empresa empresa;
+    private List<UUID> productoIds;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        empresa = entityManager.persist(new Empresa("800100200", "Bench", "Calle 1", "555"));
+        productoIds = IntStream.range(0, 200)
+                .mapToObj(i -> entityManager.persist(new Producto("SKU-" + i, "Producto " + i, null, empresa)).getId())
+                .toList();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void crearDebeEmitirLasMismasConsultasSinImportarElNumeroDeItems() {
+        Map<Integer, Long> statementsBySize = new LinkedHashMap<>();
+
+        for (int size : ORDER_SIZES) {
+            statistics.clear();
+            long start = System.nanoTime();
+
+            OrdenResponse response = ordenService.crear(request("cliente-" + size + "@dominio.com", productoIds.subList(0, size)));
+
+            long elapsedMicros = (System.nanoTime() - start) / 1_000;
+            long statements = statistics.getPrepareStatementCount();
+            statementsBySize.put(size, statements);
+            log.info("crear orden items={} statements={} latency={}us", size, statements, elapsedMicros);
+
+            assertThat(response.items()).hasSize(size);
+            assertThat(response.total()).isEqualByComparingTo(BigDecimal.valueOf(20L * size));
+            assertThat(response.items()).allSatisfy(item -> assertThat(item.productoNombre()).startsWith("Producto "));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        // The empresa lookup and one IN query for all products; the cliente upsert goes through JdbcTemplate,
+        // which Hibernate does not count, and the inserts only run at the flush above.
+        assertThat(statementsBySize.values()).containsOnly(2L);
+    }
+
+    @Test
+    void listarResumenDebeLeerLosTotalesSinCargarItems() {
+        for (int size : ORDER_SIZES) {
+            ordenService.crear(request("resumen-" + size + "@dominio.com", productoIds.subList(0, size)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        CursorPage<OrdenResumen> pagina = ordenService.listarResumenPorEmpresa(empresa.getNit(), null, 2);
+        CursorPage<OrdenResumen> siguiente = ordenService.listarResumenPorEmpresa(empresa.getNit(), pagina.nextCursor(), 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        List<OrdenResumen> resumenes = new ArrayList<>(pagina.items());
+        resumenes.addAll(siguiente.items());
+        assertThat(siguiente.nextCursor()).isNull();
+        assertThat(resumenes).extracting(OrdenResumen::itemCount).containsExactlyInAnyOrder(1, 10, 50, 200);
+        assertThat(resumenes).allSatisfy(resumen -> {
+            // Every line is 2 x 10.
+            assertThat(resumen.total()).isEqualByComparingTo(BigDecimal.valueOf(20L * resumen.itemCount()));
+            assertThat(resumen.clienteCorreo()).isEqualTo("resumen-" + resumen.itemCount() + "@dominio.com");
+        });
+    }
+
+    @Test
+    void crearDebeReutilizarAlClienteSinImportarMayusculasYActualizarSuNombre() {
+        OrdenResponse primera = ordenService.crear(request("Repetido@Dominio.com", productoIds.subList(0, 1)));
+        OrdenResponse segunda = ordenService.crear(new OrdenRequest(empresa.getNit(), " repetido@dominio.COM",
+                "Cliente Renombrado", List.of(new OrdenItemRequest(productoIds.get(1), 1, BigDecimal.TEN))));
+
+        assertThat(segunda.cliente().id()).isEqualTo(primera.cliente().id());
+        assertThat(segunda.cliente().correo()).isEqualTo("repetido@dominio.com");
+        assertThat(segunda.cliente().nombre()).isEqualTo("Cliente Renombrado");
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(ordenService.obtener(primera.id()).cliente().nombre()).isEqualTo("Cliente Renombrado");
+    }
+
+    @Test
+    void crearDebeRechazarProductosDeOtraEmpresa() {
+        Empresa otra = entityManager.persist(new Empresa("800100300", "Otra", "Calle 2", "556"));
+        UUID ajeno = entityManager.persist(new Producto("SKU-X", "Ajeno", null, otra)).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> ordenService.crear(request("cliente@dominio.com", List.of(productoIds.get(0), ajeno))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void crearDebeFallarCuandoAlgunProductoNoExiste() {
+        assertThatThrownBy(() -> ordenService.crear(request("cliente@dominio.com", List.of(productoIds.get(0), UUID.randomUUID()))))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private OrdenRequest request(String correo, List<UUID> ids) {
+        List<OrdenItemRequest> items = ids.stream()
+                .map(id -> new OrdenItemRequest(id, 2, BigDecimal.TEN))
+                .toList();
+        return new OrdenRequest(empresa.getNit(), correo, "Cliente", items);
+    }
+}
@@ -0,0 +1,155 @@
+package com.litethinking.platform.orders.service;
+
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.repository.EmpresaRepository;
+import com.litethinking.platform.catalog.repository.ProductoRepository;
+import com.litethinking.platform.common.persistence.PruebaJpaSinRollback;
+import com.litethinking.platform.orders.domain.AgrupacionVentas;
+import com.litethinking.platform.orders.domain.NivelVentas;
+import com.litethinking.platform.orders.dto.OrdenItemRequest;
+import com.litethinking.platform.orders.dto.OrdenRequest;
+import com.litethinking.platform.orders.dto.VentasResponse;
+import com.litethinking.platform.orders.repository.VentasRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@PruebaJpaSinRollback
+@Import({OrdenService.class, VentasService.class, VentasRollupRepository.class})
+class VentasServiceTest {
+
+    private static final ZoneId ZONA = ZoneId.of("America/Bogota");
+
+    @Autowired
+    private OrdenService ordenService;
+
+    @Autowired
+    private VentasService ventasService;
+
+    @Autowired
+    private VentasRollupRepository rollupRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Test
+    void crearDebeSumarLaOrdenEnLosAcumuladosDelDia() {
+        Empresa empresa = empresaRepository.save(new Empresa("940000001", "Ventas", "Calle 1", "555"));
+        UUID teclado = productoRepository.save(new Producto("TEC", "Teclado", null, empresa)).getId();
+        UUID mouse = productoRepository.save(new Producto("MOU", "Mouse", null, empresa)).getId();
+
+        ordenService.crear(orden(empresa, "a@dominio.com", new OrdenItemRequest(teclado, 2, BigDecimal.valueOf(100)),
+                new OrdenItemRequest(mouse, 1, BigDecimal.valueOf(30))));
+        ordenService.crear(orden(empresa, "b@dominio.com", new OrdenItemRequest(teclado, 1, BigDecimal.valueOf(100))));
+
+        LocalDate hoy = LocalDate.now(ZONA);
+        VentasResponse porEmpresa = ventasService.consultar(empresa.getNit(), hoy, hoy, AgrupacionVentas.DIA, NivelVentas.EMPRESA);
+        assertThat(porEmpresa.filas()).singleElement().satisfies(fila -> {
+            assertThat(fila.periodo()).isEqualTo(hoy);
+            assertThat(fila.ordenes()).isEqualTo(2);
+            assertThat(fila.unidades()).isEqualTo(4);
+            assertThat(fila.ingresos()).isEqualByComparingTo("330");
+        });
+
+        VentasResponse porProducto = ventasService.consultar(empresa.getNit(), hoy, hoy, AgrupacionVentas.DIA, NivelVentas.PRODUCTO);
+        assertThat(porProducto.filas()).extracting(VentasResponse.Fila::productoNombre).containsExactly("Teclado", "Mouse");
+        assertThat(porProducto.filas().get(0).ordenes()).isEqualTo(2);
+        assertThat(porProducto.filas().get(0).unidades()).isEqualTo(3);
+        assertThat(porProducto.filas().get(0).ingresos()).isEqualByComparingTo("300");
+        assertThat(porProducto.filas().get(1).ordenes()).isEqualTo(1);
+    }
+
+    @Test
+    void consultarDebeAgruparPorMesYTotal() {
+        String nit = "940000002";
+        rollupRepository.sumarEmpresa(incremento(nit, LocalDate.of(2024, 1, 5), 2, 5, "50"));
+        rollupRepository.sumarEmpresa(incremento(nit, LocalDate.of(2024, 1, 20), 1, 1, "10"));
+        rollupRepository.sumarEmpresa(incremento(nit, LocalDate.of(2024, 1, 20), 1, 2, "20"));
+        rollupRepository.sumarEmpresa(incremento(nit, LocalDate.of(2024, 2, 1), 3, 3, "30"));
+        rollupRepository.sumarEmpresa(incremento(nit, LocalDate.of(2024, 3, 1), 9, 9, "90"));
+
+        VentasResponse porMes = ventasService.consultar(nit, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29),
+                AgrupacionVentas.MES, NivelVentas.EMPRESA);
+        assertThat(porMes.filas()).extracting(VentasResponse.Fila::periodo)
+                .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+        assertThat(porMes.filas().get(0).ordenes()).isEqualTo(4);
+        assertThat(porMes.filas().get(0).ingresos()).isEqualByComparingTo("80");
+
+        VentasResponse total = ventasService.consultar(nit, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31),
+                AgrupacionVentas.TOTAL, NivelVentas.EMPRESA);
+        assertThat(total.filas()).singleElement().satisfies(fila -> {
+            assertThat(fila.ordenes()).isEqualTo(16);
+            assertThat(fila.unidades()).isEqualTo(20);
+            assertThat(fila.ingresos()).isEqualByComparingTo("200");
+        });
+
+        assertThatThrownBy(() -> ventasService.consultar(nit, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1),
+                AgrupacionVentas.DIA, NivelVentas.EMPRESA))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ordenesConcurrentesDelMismoDiaNoDebenPerderIncrementos() throws Exception {
+        Empresa empresa = empresaRepository.save(new Empresa("940000003", "Concurrente", "Calle 3", "557"));
+        UUID producto = productoRepository.save(new Producto("CON", "Concurrente", null, empresa)).getId();
+        int hilos = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<Void>> tareas = IntStream.range(0, hilos)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                        await(salida);
+                        ordenService.crear(orden(empresa, "c" + i + "@dominio.com",
+                                new OrdenItemRequest(producto, 1, BigDecimal.TEN)));
+                    }, executor))
+                    .toList();
+            salida.countDown();
+            CompletableFuture.allOf(tareas.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LocalDate hoy = LocalDate.now(ZONA);
+        VentasResponse ventas = ventasService.consultar(empresa.getNit(), hoy, hoy, AgrupacionVentas.DIA, NivelVentas.PRODUCTO);
+        assertThat(ventas.filas()).singleElement().satisfies(fila -> {
+            assertThat(fila.ordenes()).isEqualTo(hilos);
+            assertThat(fila.ingresos()).isEqualByComparingTo(BigDecimal.TEN.multiply(BigDecimal.valueOf(hilos)));
+        });
+    }
+
+    private static OrdenRequest orden(Empresa empresa, String correo, OrdenItemRequest... items) {
+        return new OrdenRequest(empresa.getNit(), correo, "Cliente", List.of(items));
+    }
+
+    private static VentasRollupRepository.Incremento incremento(String nit, LocalDate dia, long ordenes, long unidades,
+                                                                String ingresos) {
+        return new VentasRollupRepository.Incremento(nit, dia, null, ordenes, unidades, new BigDecimal(ingresos));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.litethinking.platform.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints the score change of every benchmark present in two JMH JSON result files, e.g. the result of
+ * the previous release against the current one. A positive change means slower for time modes and
+ * faster for throughput modes, so the mode is printed next to it.
+ */
+public final class CompararResultados {
+
+    private CompararResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CompararResultados <base.json> <actual.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> base = leer(new File(args[0]));
+        Map<String, JsonNode> actual = leer(new File(args[1]));
+
+        System.out.printf("%-90s %-6s %14s %14s %9s%n", "Benchmark", "Modo", "Base", "Actual", "Cambio");
+        actual.forEach((clave, resultado) -> {
+            JsonNode anterior = base.get(clave);
+            if (anterior == null) {
+                return;
+            }
+            double antes = anterior.at("/primaryMetric/score").asDouble();
+            double ahora = resultado.at("/primaryMetric/score").asDouble();
+            System.out.printf("%-90s %-6s %14.3f %14.3f %+8.1f%% %s%n", clave, resultado.path("mode").asText(),
+                    antes, ahora, (ahora - antes) / antes * 100, resultado.at("/primaryMetric/scoreUnit").asText());
+        });
+    }
+
+    private static Map<String, JsonNode> leer(File archivo) throws IOException {
+        Map<String, JsonNode> resultados = new LinkedHashMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(archivo)) {
+            StringBuilder clave = new StringBuilder(resultado.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = resultado.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                clave.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            resultados.put(clave.toString(), resultado);
+        }
+        return resultados;
+    }
+}
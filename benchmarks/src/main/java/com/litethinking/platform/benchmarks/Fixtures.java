@@ -0,0 +1,77 @@
+package com.litethinking.platform.benchmarks;
+
+import com.litethinking.platform.catalog.domain.Categoria;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.domain.ProductoPrecio;
+import com.litethinking.platform.orders.domain.Cliente;
+import com.litethinking.platform.orders.domain.Orden;
+import com.litethinking.platform.orders.domain.OrdenItem;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Detached entities shaped like the seed data, with the ids and timestamps JPA would assign, so the
+ * mapping and serialization benchmarks see realistic payloads.
+ */
+public final class Fixtures {
+
+    private static final List<Categoria> CATEGORIAS = List.of(
+            conId(new Categoria("Tecnologia")), conId(new Categoria("Hogar")), conId(new Categoria("Oficina")));
+
+    private Fixtures() {
+    }
+
+    public static Empresa empresa() {
+        return new Empresa("900123456", "Lite Thinking", "Calle 1 #2-3", "+57 312 000 1111");
+    }
+
+    public static Producto producto(Empresa empresa, int i) {
+        Producto producto = conId(new Producto("SKU-" + i, "Producto " + i,
+                "Caracteristicas del producto " + i + ": 16 GB RAM, 512 GB SSD", empresa));
+        Set<ProductoPrecio> precios = new LinkedHashSet<>();
+        precios.add(conId(new ProductoPrecio("USD", BigDecimal.valueOf(100 + i % 900, 2))));
+        precios.add(conId(new ProductoPrecio("COP", BigDecimal.valueOf(400_000L + i))));
+        producto.replacePrecios(precios);
+        producto.setCategorias(new LinkedHashSet<>(CATEGORIAS.subList(0, 1 + i % CATEGORIAS.size())));
+        return producto;
+    }
+
+    public static List<Producto> productos(Empresa empresa, int cantidad) {
+        List<Producto> productos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            productos.add(producto(empresa, i));
+        }
+        return productos;
+    }
+
+    public static Orden orden(Empresa empresa, int items) {
+        Orden orden = conId(new Orden(conId(new Cliente("Cliente Bench", "cliente@litethinking.com")), empresa));
+        set(orden, "fecha", Instant.parse("2024-05-01T15:30:00Z"));
+        Set<OrdenItem> lineas = new LinkedHashSet<>();
+        for (Producto producto : productos(empresa, items)) {
+            lineas.add(conId(new OrdenItem(producto, 2, BigDecimal.valueOf(19_900, 2))));
+        }
+        orden.replaceItems(lineas);
+        return orden;
+    }
+
+    private static <T> T conId(T entidad) {
+        set(entidad, "id", UUID.randomUUID());
+        return entidad;
+    }
+
+    private static void set(Object entidad, String campo, Object valor) {
+        Field field = ReflectionUtils.findField(entidad.getClass(), campo);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, entidad, valor);
+    }
+}
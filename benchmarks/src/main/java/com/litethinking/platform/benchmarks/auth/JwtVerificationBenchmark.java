@@ -0,0 +1,81 @@
+package com.litethinking.platform.benchmarks.auth;
+
+import com.litethinking.platform.auth.domain.UserAccount;
+import com.litethinking.platform.auth.domain.UserRole;
+import com.litethinking.platform.auth.service.JwtService;
+import com.litethinking.platform.auth.service.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the filter's previous path (isValid + getSubject, two full parses) with the single-parse
+ * {@link JwtService#verify}, both without the verified-token cache and with a hot cached token, plus
+ * token issuing and each of the two legacy calls on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-123";
+
+    private JwtService uncached;
+    private JwtService cached;
+    private UserAccount user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtService(SECRET, 60, 0);
+        cached = new JwtService(SECRET, 60, 10_000);
+        user = new UserAccount("bench@litethinking.com", "hash", UserRole.ADMIN);
+        token = cached.generateToken(user);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return uncached.isValid(token);
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return uncached.getSubject(token);
+    }
+
+    @Benchmark
+    public void isValidThenGetSubject(Blackhole blackhole) {
+        if (uncached.isValid(token)) {
+            blackhole.consume(uncached.getSubject(token));
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+}
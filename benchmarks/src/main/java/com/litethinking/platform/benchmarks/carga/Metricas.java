@@ -0,0 +1,83 @@
+package com.litethinking.platform.benchmarks.carga;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies and outcomes per endpoint. Every latency is kept, so percentiles are exact; a run of
+ * minutes at a few hundred requests per second stays well within memory.
+ */
+final class Metricas {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, long latenciaNanos, int status) {
+        endpoints.computeIfAbsent(endpoint, nombre -> new Endpoint()).registrar(latenciaNanos, String.valueOf(status));
+    }
+
+    void fallo(String endpoint, long latenciaNanos, String causa) {
+        endpoints.computeIfAbsent(endpoint, nombre -> new Endpoint()).registrar(latenciaNanos, causa);
+    }
+
+    List<Resumen> resumen(double segundos) {
+        return new TreeMap<>(endpoints).entrySet().stream()
+                .map(entry -> entry.getValue().resumen(entry.getKey(), segundos))
+                .toList();
+    }
+
+    /** Statuses outside 2xx and transport failures count as errors. */
+    record Resumen(
+            String endpoint,
+            long solicitudes,
+            long errores,
+            double tasaError,
+            double rps,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs,
+            Map<String, Long> resultados
+    ) {
+    }
+
+    private static final class Endpoint {
+
+        private long[] latencias = new long[1024];
+        private int cantidad;
+        private long errores;
+        private final Map<String, Long> resultados = new LinkedHashMap<>();
+
+        synchronized void registrar(long latenciaNanos, String resultado) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = latenciaNanos;
+            if (!resultado.startsWith("2")) {
+                errores++;
+            }
+            resultados.merge(resultado, 1L, Long::sum);
+        }
+
+        synchronized Resumen resumen(String nombre, double segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(ordenadas);
+            return new Resumen(nombre, cantidad, errores, cantidad == 0 ? 0 : (double) errores / cantidad,
+                    cantidad / segundos, percentil(ordenadas, 0.50), percentil(ordenadas, 0.90),
+                    percentil(ordenadas, 0.99), percentil(ordenadas, 0.999), percentil(ordenadas, 1.0),
+                    new TreeMap<>(resultados));
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.litethinking.platform.benchmarks.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.litethinking.platform.PlatformApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: requests start at a fixed rate regardless of how fast earlier ones finish,
+ * and each latency is measured from the moment its request was scheduled, so a stalled server shows
+ * up in the percentiles instead of silently lowering the request rate.
+ *
+ * <p>Without {@code carga.url} the backend is started in this JVM with the {@code carga} profile on
+ * H2 (or on whatever {@code SPRING_DATASOURCE_*} points to), which seeds the synthetic data first.
+ * Everything runs offline. Settings are system properties:
+ * <ul>
+ *     <li>{@code carga.url}: base URL of a running backend; empty starts one in-process</li>
+ *     <li>{@code carga.rps}, {@code carga.duracion}, {@code carga.calentamiento}: rate and seconds</li>
+ *     <li>{@code carga.mezcla}: weights per operation, e.g. {@code login=5,productos=60,orden=30,pdf=5}</li>
+ *     <li>{@code carga.max-en-vuelo}: requests allowed in flight before new ones count as rejected</li>
+ *     <li>{@code carga.max-tasa-error}: the run exits with status 1 above this error rate</li>
+ *     <li>{@code carga.resultado}: JSON report path</li>
+ * </ul>
+ */
+public final class PruebaDeCarga {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Metricas metricas = new Metricas();
+    private final Random random = new Random(Long.getLong("carga.semilla", 42));
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final Semaphore enVuelo;
+    private final Map<String, Integer> mezcla;
+    private String token;
+    private List<Catalogo> catalogos;
+
+    private PruebaDeCarga(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.email = System.getProperty("carga.email", "admin@litethinking.com");
+        this.password = System.getProperty("carga.password", "Admin123*");
+        this.enVuelo = new Semaphore(Integer.getInteger("carga.max-en-vuelo", 1000));
+        this.mezcla = mezcla(System.getProperty("carga.mezcla", "login=5,productos=60,orden=30,pdf=5"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url", "");
+        ConfigurableApplicationContext contexto = null;
+        if (url.isBlank()) {
+            contexto = SpringApplication.run(PlatformApplication.class, "--spring.profiles.active=carga",
+                    "--server.port=0", "--spring.jpa.show-sql=false", "--spring.h2.console.enabled=false");
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+        double tasaError;
+        try {
+            tasaError = new PruebaDeCarga(url).ejecutar(
+                    Integer.getInteger("carga.rps", 50),
+                    Duration.ofSeconds(Integer.getInteger("carga.calentamiento", 10)),
+                    Duration.ofSeconds(Integer.getInteger("carga.duracion", 60)));
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+        double maxima = Double.parseDouble(System.getProperty("carga.max-tasa-error", "0.01"));
+        if (tasaError > maxima) {
+            System.err.printf("Tasa de error %.4f por encima del maximo %.4f%n", tasaError, maxima);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private double ejecutar(int rps, Duration calentamiento, Duration duracion) throws Exception {
+        token = login();
+        catalogos = catalogos();
+        System.out.printf("Carga contra %s: %d rps, %ds de calentamiento, %ds medidos, %d empresas%n",
+                baseUrl, rps, calentamiento.toSeconds(), duracion.toSeconds(), catalogos.size());
+
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / rps;
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + calentamiento.toNanos();
+        long fin = inicioMedicion + duracion.toNanos();
+        List<CompletableFuture<?>> pendientes = new ArrayList<>();
+        for (long programada = inicio; programada < fin; programada += intervalo) {
+            long espera = programada - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            boolean medir = programada >= inicioMedicion;
+            pendientes.add(disparar(operacion(), programada, medir));
+            pendientes.removeIf(CompletableFuture::isDone);
+        }
+        CompletableFuture.allOf(pendientes.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+
+        List<Metricas.Resumen> resumen = metricas.resumen(duracion.toNanos() / 1e9);
+        imprimir(resumen);
+        Map<String, Object> reporte = new LinkedHashMap<>();
+        reporte.put("url", baseUrl);
+        reporte.put("rpsObjetivo", rps);
+        reporte.put("duracionSegundos", duracion.toSeconds());
+        reporte.put("mezcla", mezcla);
+        reporte.put("endpoints", resumen);
+        File archivo = new File(System.getProperty("carga.resultado", "target/carga-result.json"));
+        if (archivo.getParentFile() != null) {
+            archivo.getParentFile().mkdirs();
+        }
+        JSON.writeValue(archivo, reporte);
+        System.out.println("Resultados en " + archivo.getAbsolutePath());
+
+        long solicitudes = resumen.stream().mapToLong(Metricas.Resumen::solicitudes).sum();
+        long errores = resumen.stream().mapToLong(Metricas.Resumen::errores).sum();
+        return solicitudes == 0 ? 0 : (double) errores / solicitudes;
+    }
+
+    private CompletableFuture<?> disparar(String operacion, long programada, boolean medir) {
+        if (!enVuelo.tryAcquire()) {
+            if (medir) {
+                metricas.fallo(operacion, System.nanoTime() - programada, "rechazada");
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.sendAsync(solicitud(operacion), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((respuesta, error) -> {
+                    enVuelo.release();
+                    if (!medir) {
+                        return;
+                    }
+                    long latencia = System.nanoTime() - programada;
+                    if (error != null) {
+                        metricas.fallo(operacion, latencia, error.getClass().getSimpleName());
+                    } else {
+                        metricas.registrar(operacion, latencia, respuesta.statusCode());
+                    }
+                });
+    }
+
+    private HttpRequest solicitud(String operacion) {
+        Catalogo catalogo = catalogos.get(random.nextInt(catalogos.size()));
+        return switch (operacion) {
+            case "login" -> post("/api/auth/login", Map.of("email", email, "password", password)).build();
+            case "productos" -> autenticada("/api/productos/pagina?empresaNit=" + catalogo.nit() + "&size=50")
+                    .GET().build();
+            case "orden" -> {
+                Catalogo.Producto producto = catalogo.productos().get(random.nextInt(catalogo.productos().size()));
+                int cliente = random.nextInt(Integer.getInteger("carga.clientes", 500));
+                yield post("/api/ordenes", Map.of(
+                        "empresaNit", catalogo.nit(),
+                        "clienteCorreo", "cliente" + cliente + "@carga.litethinking.com",
+                        "clienteNombre", "Cliente Carga " + cliente,
+                        "items", List.of(Map.of("productoId", producto.id(), "cantidad", 1 + random.nextInt(5),
+                                "precioUnitario", producto.precio()))))
+                        .header("Authorization", "Bearer " + token)
+                        .build();
+            }
+            case "pdf" -> autenticada("/api/inventory/" + catalogo.nit() + "/pdf").GET().build();
+            default -> throw new IllegalArgumentException("Operacion desconocida: " + operacion);
+        };
+    }
+
+    private String operacion() {
+        int total = mezcla.values().stream().mapToInt(Integer::intValue).sum();
+        int valor = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mezcla.entrySet()) {
+            valor -= entry.getValue();
+            if (valor < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private String login() throws IOException, InterruptedException {
+        JsonNode respuesta = enviar(post("/api/auth/login", Map.of("email", email, "password", password)).build());
+        return respuesta.path("token").asText();
+    }
+
+    // Products with a price per empresa, read once so order bodies can be built without extra calls.
+    private List<Catalogo> catalogos() throws IOException, InterruptedException {
+        List<Catalogo> resultado = new ArrayList<>();
+        for (JsonNode empresa : enviar(HttpRequest.newBuilder(URI.create(baseUrl + "/api/empresas")).GET().build())) {
+            String nit = empresa.path("nit").asText();
+            List<Catalogo.Producto> productos = new ArrayList<>();
+            JsonNode pagina = enviar(autenticada("/api/productos/pagina?empresaNit=" + nit + "&size=50").GET().build());
+            for (JsonNode producto : pagina.path("items")) {
+                JsonNode precio = producto.path("precios").path(0);
+                if (!precio.isMissingNode()) {
+                    productos.add(new Catalogo.Producto(producto.path("id").asText(), precio.path("valor").decimalValue()));
+                }
+            }
+            if (!productos.isEmpty()) {
+                resultado.add(new Catalogo(nit, productos));
+            }
+        }
+        if (resultado.isEmpty()) {
+            throw new IllegalStateException("No hay empresas con productos en " + baseUrl);
+        }
+        return resultado;
+    }
+
+    private JsonNode enviar(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.uri() + " respondio " + respuesta.statusCode());
+        }
+        return JSON.readTree(respuesta.body());
+    }
+
+    private HttpRequest.Builder post(String ruta, Object cuerpo) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(cuerpo)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder autenticada(String ruta) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + ruta)).header("Authorization", "Bearer " + token);
+    }
+
+    private static void imprimir(List<Metricas.Resumen> resumen) {
+        System.out.printf("%-10s %10s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "solicitudes", "errores", "%error", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Metricas.Resumen fila : resumen) {
+            System.out.printf("%-10s %10d %8d %7.2f%% %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    fila.endpoint(), fila.solicitudes(), fila.errores(), fila.tasaError() * 100, fila.rps(),
+                    fila.p50Ms(), fila.p90Ms(), fila.p99Ms(), fila.p999Ms(), fila.maxMs());
+        }
+    }
+
+    private static Map<String, Integer> mezcla(String definicion) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String parte : definicion.split(",")) {
+            String[] clave = parte.split("=");
+            int peso = Integer.parseInt(clave[1].strip());
+            if (peso > 0) {
+                pesos.put(clave[0].strip(), peso);
+            }
+        }
+        return pesos;
+    }
+
+    private record Catalogo(String nit, List<Producto> productos) {
+
+        private record Producto(String id, BigDecimal precio) {
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.litethinking.platform.benchmarks.catalog;
+
+import com.litethinking.platform.catalog.domain.ProductoCambio;
+import com.litethinking.platform.catalog.dto.ProductoSummary;
+import com.litethinking.platform.catalog.dto.ProductoTexto;
+import com.litethinking.platform.catalog.search.ProductoAutocompleteIndex;
+import com.litethinking.platform.catalog.search.ProductoIndexador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead lookups over a 50k-product empresa. Sampled, so the JSON result carries the p99 the
+ * endpoint is budgeted on (2 ms).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductoAutocompleteBenchmark {
+
+    private static final String NIT = "900100200";
+    private static final String[] NOMBRES = {"Laptop", "Monitor", "Teclado", "Mouse", "Camara", "Parlante", "Cable", "Router"};
+    private static final String[] PREFIJOS = {"s", "sku-1", "sku-42", "lap", "mo", "modelo 3", "cam", "r", "tec", "x"};
+
+    private final ProductoAutocompleteIndex index = new ProductoAutocompleteIndex();
+    private int siguiente;
+
+    @Setup
+    public void setUp() {
+        ProductoIndexador indexador = new ProductoIndexador(null, List.of(index));
+        for (int i = 0; i < 50_000; i++) {
+            indexador.aplicar(new ProductoCambio(ProductoCambio.Tipo.GUARDADO, new ProductoTexto(
+                    UUID.randomUUID(), NIT, "SKU-" + i, NOMBRES[i % NOMBRES.length] + " modelo " + i, null)));
+        }
+    }
+
+    @Benchmark
+    public List<ProductoSummary> autocompletar() {
+        siguiente = (siguiente + 1) % PREFIJOS.length;
+        return index.autocompletar(NIT, PREFIJOS[siguiente], 10);
+    }
+}
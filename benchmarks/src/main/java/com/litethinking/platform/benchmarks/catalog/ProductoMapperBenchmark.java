@@ -0,0 +1,45 @@
+package com.litethinking.platform.benchmarks.catalog;
+
+import com.litethinking.platform.benchmarks.Fixtures;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.catalog.dto.ProductoResponse;
+import com.litethinking.platform.catalog.mapper.ProductoMapper;
+import com.litethinking.platform.catalog.mapper.ProductoMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of one product with two precios and up to three categorias, the per-row cost
+ * of every catalog listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductoMapperBenchmark {
+
+    private final ProductoMapper mapper = new ProductoMapperImpl();
+    private Producto producto;
+
+    @Setup
+    public void setUp() {
+        producto = Fixtures.producto(Fixtures.empresa(), 2);
+    }
+
+    @Benchmark
+    public ProductoResponse toResponse() {
+        return mapper.toResponse(producto);
+    }
+}
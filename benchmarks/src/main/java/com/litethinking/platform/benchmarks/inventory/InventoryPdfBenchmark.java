@@ -0,0 +1,51 @@
+package com.litethinking.platform.benchmarks.inventory;
+
+import com.litethinking.platform.benchmarks.Fixtures;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.domain.Producto;
+import com.litethinking.platform.inventory.report.InventoryPdfGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full in-memory render of the inventory PDF. A 100k-product render takes seconds, so iterations are
+ * few and long.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class InventoryPdfBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int productos;
+
+    private final InventoryPdfGenerator generator = new InventoryPdfGenerator();
+    private Empresa empresa;
+    private List<Producto> catalogo;
+
+    @Setup
+    public void setUp() {
+        empresa = Fixtures.empresa();
+        catalogo = Fixtures.productos(empresa, productos);
+    }
+
+    @Benchmark
+    public byte[] build() {
+        return generator.build(empresa, catalogo);
+    }
+}
@@ -0,0 +1,56 @@
+package com.litethinking.platform.benchmarks.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.litethinking.platform.benchmarks.Fixtures;
+import com.litethinking.platform.catalog.domain.Empresa;
+import com.litethinking.platform.catalog.dto.ProductoResponse;
+import com.litethinking.platform.catalog.mapper.ProductoMapperImpl;
+import com.litethinking.platform.orders.dto.OrdenResponse;
+import com.litethinking.platform.orders.service.OrdenResponses;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an ObjectMapper configured like the one Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ProductoResponse producto;
+    private OrdenResponse orden;
+
+    @Setup
+    public void setUp() {
+        Empresa empresa = Fixtures.empresa();
+        producto = new ProductoMapperImpl().toResponse(Fixtures.producto(empresa, 2));
+        orden = OrdenResponses.de(Fixtures.orden(empresa, 10));
+    }
+
+    @Benchmark
+    public byte[] productoResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(producto);
+    }
+
+    @Benchmark
+    public byte[] ordenResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orden);
+    }
+}
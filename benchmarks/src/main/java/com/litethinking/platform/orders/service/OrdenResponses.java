@@ -0,0 +1,19 @@
+package com.litethinking.platform.orders.service;
+
+import com.litethinking.platform.orders.domain.Orden;
+import com.litethinking.platform.orders.dto.OrdenResponse;
+
+/**
+ * The response {@link OrdenService#toResponse} builds, for benchmarks outside the service's package.
+ */
+public final class OrdenResponses {
+
+    private static final OrdenService ORDEN_SERVICE = new OrdenService(null, null, null, null, null);
+
+    private OrdenResponses() {
+    }
+
+    public static OrdenResponse de(Orden orden) {
+        return ORDEN_SERVICE.toResponse(orden);
+    }
+}
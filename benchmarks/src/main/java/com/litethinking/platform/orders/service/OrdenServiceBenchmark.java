@@ -0,0 +1,47 @@
+package com.litethinking.platform.orders.service;
+
+import com.litethinking.platform.benchmarks.Fixtures;
+import com.litethinking.platform.orders.domain.Orden;
+import com.litethinking.platform.orders.dto.OrdenResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrdenService#toResponse} is package-private, hence this benchmark lives in the service's
+ * package. The mapping touches no repository, so the service is built without any.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrdenServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private final OrdenService ordenService = new OrdenService(null, null, null, null, null);
+    private Orden orden;
+
+    @Setup
+    public void setUp() {
+        orden = Fixtures.orden(Fixtures.empresa(), items);
+    }
+
+    @Benchmark
+    public OrdenResponse toResponse() {
+        return ordenService.toResponse(orden);
+    }
+}